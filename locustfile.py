@@ -7,12 +7,22 @@ import json
 # URL del microservicio de Cuentas
 CUENTAS_API = "http://localhost:3000"
 
+
+def cedula_valida(nueve_digitos):
+    """Completa una cédula con su dígito verificador (módulo 10), como lo valida el microservicio de Socios."""
+    suma = 0
+    for i, digito in enumerate(nueve_digitos):
+        producto = int(digito) * (2 if i % 2 == 0 else 1)
+        suma += producto - 9 if producto > 9 else producto
+    return nueve_digitos + str((10 - suma % 10) % 10)
+
 class SocioInconsistenteUser(HttpUser):
     wait_time = between(0.5, 1)
     
     def on_start(self):
         # 1. Crear Socio
-        self.identificacion = f"17{random.randint(10000000, 99999999)}"
+        # Pichincha (17), tercer dígito de persona natural (0-5)
+        self.identificacion = cedula_valida(f"17{random.randint(0, 5)}{random.randint(0, 999999):06d}")
         socio_payload = {
             "nombres": "Test",
             "apellidos": "Load",
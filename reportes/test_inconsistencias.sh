@@ -19,6 +19,17 @@ NC='\033[0m' # No Color
 SOCIOS_URL="http://localhost:8080/api/socios"
 CUENTAS_URL="http://localhost:3000/cuentas"
 
+# Completa 9 dígitos con el verificador módulo 10 de la cédula ecuatoriana
+cedula_valida() {
+    local base=$1 suma=0 i d
+    for ((i = 0; i < 9; i++)); do
+        d=$(( ${base:i:1} * (i % 2 == 0 ? 2 : 1) ))
+        (( d > 9 )) && d=$((d - 9))
+        suma=$((suma + d))
+    done
+    echo "$base$(( (10 - suma % 10) % 10 ))"
+}
+
 echo "🔍 Verificando que los servicios estén activos..."
 if ! curl -s -o /dev/null -w "%{http_code}" $SOCIOS_URL | grep -q "200"; then
     echo -e "${RED}❌ Error: Microservicio de Socios no está respondiendo${NC}"
@@ -42,8 +53,8 @@ echo "================================================================"
 # 1. Crear socio de prueba
 echo "📝 Paso 1: Creando socio de prueba..."
 TIMESTAMP=$(date +%s)
-# TIMESTAMP es de 10 dígitos. Prefix 11 + 10 dígitos = 12 dígitos (Válido entre 10 y 13)
-RANDOM_ID="11$TIMESTAMP"
+# Cédula de Pichincha (17) con los últimos 6 dígitos del timestamp y su verificador
+RANDOM_ID=$(cedula_valida "170${TIMESTAMP: -6}")
 RANDOM_EMAIL="test.$TIMESTAMP@cooperativa.com"
 
 SOCIO_RESPONSE=$(curl -s -X POST $SOCIOS_URL \
@@ -151,8 +162,8 @@ echo "================================================================"
 
 echo "📝 Paso 1: Creando socio inactivo..."
 TIMESTAMP_INAC=$(date +%s)
-# TIMESTAMP es de 10 dígitos. Prefix 88 + 10 dígitos = 12 dígitos (Válido)
-RANDOM_ID_INAC="88$TIMESTAMP_INAC"
+# Tercer dígito distinto al del socio del paso 1 para no repetir la cédula
+RANDOM_ID_INAC=$(cedula_valida "171${TIMESTAMP_INAC: -6}")
 RANDOM_EMAIL_INAC="inactivo.$TIMESTAMP_INAC@cooperativa.com"
 
 SOCIO_INACTIVO=$(curl -s -X POST $SOCIOS_URL \
@@ -10,6 +10,15 @@ from selenium.webdriver.chrome.service import Service
 # Configuration
 FRONTEND_URL = "http://localhost:3001"
 
+
+def cedula_valida(nueve_digitos):
+    """Completa una cédula con su dígito verificador (módulo 10), como lo valida el microservicio de Socios."""
+    suma = 0
+    for i, digito in enumerate(nueve_digitos):
+        producto = int(digito) * (2 if i % 2 == 0 else 1)
+        suma += producto - 9 if producto > 9 else producto
+    return nueve_digitos + str((10 - suma % 10) % 10)
+
 @pytest.fixture(scope="module")
 def driver():
     options = Options()
@@ -42,7 +51,8 @@ def test_full_flow(driver):
         # 1. Create Socio
         print(f"1. Creating Socio...")
         timestamp = int(time.time())
-        cedula = str(timestamp) 
+        # Pichincha (17), tercer dígito 0 y los últimos 6 dígitos del timestamp
+        cedula = cedula_valida(f"170{timestamp % 1000000:06d}")
         
         driver.find_element(By.ID, "input-nombres").send_keys(f"TestUser-{timestamp}")
         driver.find_element(By.ID, "input-apellidos").send_keys("Selenium")
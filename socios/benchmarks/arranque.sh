@@ -0,0 +1,86 @@
+#!/bin/bash
+
+# Tiempo de arranque del microservicio de socios hasta la primera respuesta
+# exitosa de GET /api/socios/{id}, comparando:
+#   estandar      configuración por defecto (ddl-auto=update, carga de datos de prueba)
+#   rapido        perfil rapido (solo Flyway, sin inspección de esquema ni carga de datos)
+#   rapido-cds    perfil rapido con archivo CDS (class data sharing) de la JVM
+#   rapido-aot    perfil rapido con CDS y el contexto procesado AOT (-Dspring.aot.enabled=true)
+#
+# Requisitos: Java 21, PostgreSQL levantado con al menos un socio, curl.
+# Uso (desde socios/): ./benchmarks/arranque.sh [repeticiones]
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+REPETICIONES=${1:-5}
+PUERTO=8080
+RESULTADOS=target/benchmark-arranque
+APP=$RESULTADOS/app
+
+rm -rf "$RESULTADOS"
+mkdir -p "$RESULTADOS"
+
+echo "=== Compilando microservicio de socios (con procesamiento AOT) ==="
+./mvnw -q -DskipTests -Paot package
+
+# CDS necesita el jar extraído (clases de la aplicación y librerías como jars separados)
+JAR=$(ls target/socios-*.jar | grep -v plain | head -1)
+java -Djarmode=tools -jar "$JAR" extract --destination "$APP" > /dev/null
+JAR_APP=$(ls "$APP"/*.jar | head -1)
+
+arrancar() {
+    local log=$1
+    shift
+    java "$@" -jar "$JAR_APP" --server.port=$PUERTO > "$log" 2>&1 &
+    echo $!
+}
+
+detener() {
+    kill "$1"
+    wait "$1" 2>/dev/null || true
+}
+
+esperar_respuesta() {
+    until curl -sf -o /dev/null "$1"; do
+        sleep 0.02
+    done
+}
+
+echo "=== Obteniendo un socio para las consultas ==="
+pid=$(arrancar "$RESULTADOS/preparacion.log" -Dspring.profiles.active=rapido)
+esperar_respuesta "http://localhost:$PUERTO/actuator/health"
+ID=$(curl -sf "http://localhost:$PUERTO/api/socios/pagina?tamanio=1" | grep -o '"id":"[^"]*"' | head -1 | cut -d'"' -f4)
+detener "$pid"
+if [ -z "$ID" ]; then
+    echo "No hay socios en la base; cargar datos (perfil seed) antes de medir" >&2
+    exit 1
+fi
+
+echo "=== Generando archivos CDS (ejecución de entrenamiento hasta el refresh del contexto) ==="
+java -XX:ArchiveClassesAtExit="$APP/rapido.jsa" -Dspring.context.exit=onRefresh \
+    -Dspring.profiles.active=rapido -jar "$JAR_APP" > "$RESULTADOS/cds-rapido.log" 2>&1
+java -XX:ArchiveClassesAtExit="$APP/aot.jsa" -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+    -Dspring.profiles.active=rapido -jar "$JAR_APP" > "$RESULTADOS/cds-aot.log" 2>&1
+
+medir() {
+    local modo=$1
+    shift
+    local tiempos=()
+    for i in $(seq 1 "$REPETICIONES"); do
+        local inicio=$(date +%s%N)
+        local pid=$(arrancar "$RESULTADOS/$modo-$i.log" "$@")
+        esperar_respuesta "http://localhost:$PUERTO/api/socios/$ID"
+        tiempos+=($(( ($(date +%s%N) - inicio) / 1000000 )))
+        detener "$pid"
+    done
+    local mediana=$(printf '%s\n' "${tiempos[@]}" | sort -n | awk '{ v[NR] = $1 } END { print v[int((NR + 1) / 2)] }')
+    printf "%-12s mediana=%6s ms  ejecuciones=[%s]\n" "$modo" "$mediana" "${tiempos[*]}"
+}
+
+echo ""
+echo "=== Tiempo hasta la primera respuesta de GET /api/socios/$ID ($REPETICIONES ejecuciones) ==="
+medir estandar
+medir rapido -Dspring.profiles.active=rapido
+medir rapido-cds -XX:SharedArchiveFile="$APP/rapido.jsa" -Dspring.profiles.active=rapido
+medir rapido-aot -XX:SharedArchiveFile="$APP/aot.jsa" -Dspring.aot.enabled=true -Dspring.profiles.active=rapido
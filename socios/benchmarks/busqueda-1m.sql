@@ -0,0 +1,73 @@
+-- Benchmark de GET /api/socios/buscar sobre un millón de socios generados.
+--
+-- Uso (base de datos exclusiva para benchmarks, con las migraciones aplicadas):
+--   psql -d cooperativa_socios_bench -f benchmarks/busqueda-1m.sql
+--
+-- Cada consulta se ejecuta con los índices de V2__indices_busqueda_socios.sql
+-- y luego dentro de una transacción que los elimina y hace ROLLBACK, para
+-- comparar los planes y tiempos con y sin índices.
+
+\timing on
+\set ON_ERROR_STOP on
+
+TRUNCATE socios;
+
+INSERT INTO socios (id, identificacion, nombres, apellidos, email, telefono, direccion,
+                    activo, tipo_identificacion, fecha_creacion, fecha_actualizacion)
+SELECT gen_random_uuid(),
+       CASE WHEN n % 10 = 0 THEN lpad(n::text, 10, '0') || '001' ELSE lpad(n::text, 10, '0') END,
+       (ARRAY['Juan', 'María', 'Carlos', 'Ana', 'Luis', 'Laura', 'Pedro', 'Sofía', 'José', 'Elena',
+              'Miguel', 'Isabel', 'David', 'Carmen', 'Javier', 'Patricia'])[1 + n % 16]
+           || ' ' || (ARRAY['Antonio', 'José', 'Andrés', 'Alejandra', 'Cristina', 'Esteban'])[1 + (n / 16) % 6],
+       (ARRAY['García', 'Rodríguez', 'López', 'Martínez', 'Sánchez', 'Pérez', 'Gómez', 'Díaz',
+              'Torres', 'Ramírez', 'Castro', 'Vargas', 'Moreno', 'Romero', 'Navarro', 'Ruiz'])[1 + (n / 7) % 16]
+           || ' ' || (ARRAY['González', 'Fernández', 'Álvarez', 'Jiménez', 'Hernández', 'Muñoz'])[1 + (n / 3) % 6]
+           || ' ' || n,
+       'socio' || n || '@cooperativa.com.ec',
+       '09' || lpad((n % 100000000)::text, 8, '0'),
+       'Calle ' || (n % 100) || ' y Av. ' || chr(65 + n % 26),
+       n % 10 <> 0,
+       CASE WHEN n % 10 = 0 THEN 'RUC' ELSE 'CEDULA' END,
+       now() - (n || ' seconds')::interval,
+       now()
+FROM generate_series(1, 1000000) AS n;
+
+ANALYZE socios;
+
+\echo '=== Prefijo de nombres (con índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE lower(nombres) LIKE 'sofía ale%' ORDER BY apellidos LIMIT 20;
+
+\echo '=== Prefijo de apellidos + activo (con índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE lower(apellidos) LIKE 'vargas jim%' AND activo = true ORDER BY apellidos LIMIT 20;
+
+\echo '=== Email exacto (con índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE lower(email) = 'socio424242@cooperativa.com.ec';
+
+\echo '=== Tipo + activo ordenado por apellidos (con índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE tipo_identificacion = 'RUC' AND activo = false ORDER BY apellidos LIMIT 20;
+
+BEGIN;
+DROP INDEX idx_socios_lower_nombres, idx_socios_lower_apellidos, idx_socios_lower_email,
+           idx_socios_tipo_activo_apellidos;
+
+\echo '=== Prefijo de nombres (sin índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE lower(nombres) LIKE 'sofía ale%' ORDER BY apellidos LIMIT 20;
+
+\echo '=== Prefijo de apellidos + activo (sin índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE lower(apellidos) LIKE 'vargas jim%' AND activo = true ORDER BY apellidos LIMIT 20;
+
+\echo '=== Email exacto (sin índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE lower(email) = 'socio424242@cooperativa.com.ec';
+
+\echo '=== Tipo + activo ordenado por apellidos (sin índices) ==='
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM socios WHERE tipo_identificacion = 'RUC' AND activo = false ORDER BY apellidos LIMIT 20;
+
+ROLLBACK;
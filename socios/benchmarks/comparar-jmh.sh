@@ -0,0 +1,31 @@
+#!/bin/bash
+
+# Compara dos archivos de resultados JMH (-rf json) y muestra la variación del
+# score primario de cada benchmark. Marca con "!" las variaciones mayores al
+# umbral (por defecto 10 %) en la dirección desfavorable.
+#
+# Requisitos: jq
+# Uso: ./benchmarks/comparar-jmh.sh <base.json> <nuevo.json> [umbral-porcentaje]
+
+set -euo pipefail
+
+BASE=$1
+NUEVO=$2
+UMBRAL=${3:-10}
+
+jq -r -n --slurpfile base "$BASE" --slurpfile nuevo "$NUEVO" --argjson umbral "$UMBRAL" '
+  def clave: .benchmark + (if .params then " " + (.params | to_entries | map(.key + "=" + .value) | join(",")) else "" end);
+  ($base[0] | map({key: clave, value: .}) | from_entries) as $b
+  | ["benchmark", "base", "nuevo", "unidad", "variacion"], (
+      $nuevo[0][]
+      | clave as $k
+      | select($b[$k])
+      | $b[$k].primaryMetric.score as $s0
+      | .primaryMetric.score as $s1
+      | (($s1 - $s0) / $s0 * 100) as $delta
+      # En modos de tiempo (s/op) subir es peor; en throughput (ops/s) bajar es peor
+      | (if .mode == "thrpt" then -$delta else $delta end) as $peor
+      | [$k, ($s0 * 1000 | round / 1000), ($s1 * 1000 | round / 1000), .primaryMetric.scoreUnit,
+         (($delta * 10 | round / 10 | tostring) + "%" + (if $peor > $umbral then " !" else "" end))]
+    )
+  | @tsv'
@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Compara throughput y latencia p99 del microservicio de socios con hilos de
+# plataforma y con hilos virtuales (perfil "virtual"), usando el escenario de
+# Locust del repositorio (locustfile.py en la raíz).
+#
+# Requisitos: Java 21, PostgreSQL y microservicio de Cuentas levantados, locust instalado.
+# Uso (desde socios/): ./benchmarks/hilos-virtuales.sh [usuarios] [duracion]
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+USUARIOS=${1:-100}
+DURACION=${2:-60s}
+PUERTO=8080
+RESULTADOS=target/benchmark-hilos-virtuales
+LOCUSTFILE=../locustfile.py
+
+mkdir -p "$RESULTADOS"
+
+echo "=== Compilando microservicio de socios ==="
+./mvnw -q -DskipTests package
+
+JAR=$(ls target/socios-*.jar | grep -v plain | head -1)
+
+ejecutar_modo() {
+    local modo=$1
+    local perfiles=$2
+
+    echo ""
+    echo "=== Modo: $modo ==="
+    # -Djdk.tracePinnedThreads imprime la pila si un hilo virtual queda fijado a su portador
+    java -Djdk.tracePinnedThreads=short -jar "$JAR" \
+        --spring.profiles.active="$perfiles" \
+        --server.port=$PUERTO \
+        --spring.jpa.show-sql=false > "$RESULTADOS/$modo-app.log" 2>&1 &
+    local pid=$!
+
+    until curl -sf "http://localhost:$PUERTO/actuator/health" > /dev/null; do
+        sleep 1
+    done
+
+    locust -f "$LOCUSTFILE" --headless -u "$USUARIOS" -r 20 -t "$DURACION" \
+        --host "http://localhost:$PUERTO" --csv "$RESULTADOS/$modo" --only-summary > /dev/null 2>&1 || true
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    if grep -q "VirtualThread" "$RESULTADOS/$modo-app.log"; then
+        echo "⚠️ Se detectaron hilos virtuales fijados (pinning), revisar $RESULTADOS/$modo-app.log"
+    fi
+
+    # Columnas de Locust: Requests/s y percentil 99 de la fila "Aggregated"
+    awk -F',' -v modo="$modo" '
+        NR == 1 { for (i = 1; i <= NF; i++) { if ($i == "\"Requests/s\"" || $i == "Requests/s") rps = i; if ($i == "\"99%\"" || $i == "99%") p99 = i } }
+        /Aggregated/ { printf "%-12s throughput=%s req/s  p99=%s ms\n", modo, $rps, $p99 }
+    ' "$RESULTADOS/${modo}_stats.csv"
+}
+
+ejecutar_modo "plataforma" "default"
+ejecutar_modo "virtual" "virtual"
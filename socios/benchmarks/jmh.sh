@@ -0,0 +1,38 @@
+#!/bin/bash
+
+# Compila el servicio y el módulo de benchmarks JMH y ejecuta los benchmarks,
+# guardando los resultados en JSON (formato de JMH) para comparar versiones.
+#
+# Uso (desde socios/): ./benchmarks/jmh.sh [filtro-jmh] [opciones-jmh...]
+#   ./benchmarks/jmh.sh                          # todos los benchmarks
+#   ./benchmarks/jmh.sh SocioJsonBenchmark -f 2  # uno solo, con 2 forks
+#
+# ETIQUETA define el nombre del archivo (por defecto `git describe`):
+#   ETIQUETA=v1.2.0 ./benchmarks/jmh.sh
+# Resultado: benchmarks/resultados/<etiqueta>.json
+# Comparar dos versiones: ./benchmarks/comparar-jmh.sh resultados/v1.1.0.json resultados/v1.2.0.json
+
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+ETIQUETA=${ETIQUETA:-$(git describe --tags --always --dirty 2>/dev/null || date +%Y%m%d-%H%M%S)}
+RESULTADOS=benchmarks/resultados
+FILTRO=${1:-.}
+shift || true
+
+mkdir -p "$RESULTADOS"
+
+echo "=== Instalando microservicio de socios (jar plain) ==="
+./mvnw -q -DskipTests install
+
+echo "=== Compilando benchmarks ==="
+./mvnw -q -f benchmarks/pom.xml package
+
+echo "=== Ejecutando JMH ($FILTRO) ==="
+java -jar benchmarks/target/benchmarks.jar "$FILTRO" \
+    -prof gc \
+    -rf json -rff "$RESULTADOS/$ETIQUETA.json" \
+    "$@"
+
+echo ""
+echo "Resultados: $RESULTADOS/$ETIQUETA.json"
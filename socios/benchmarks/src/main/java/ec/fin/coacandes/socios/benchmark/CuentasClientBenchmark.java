@@ -0,0 +1,127 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import ec.fin.coacandes.socios.client.CuentaDto;
+import ec.fin.coacandes.socios.client.CuentasAsyncClient;
+import ec.fin.coacandes.socios.config.CuentasHttpConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CuentasAsyncClient contra un servidor HTTP local sin latencia: mide lo que el
+ * cliente agrega por consulta (pool de conexiones, circuit breaker, bulkhead y
+ * decodificación de la respuesta). "decodificarCuentas" aísla el parseo JSON.
+ * Ejecutar con: ./benchmarks/jmh.sh CuentasClientBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CuentasClientBenchmark {
+
+    private static final TypeReference<List<CuentaDto>> LISTA_CUENTAS = new TypeReference<>() {
+    };
+
+    /** Cuentas en cada respuesta del stub */
+    @Param({"1", "20"})
+    private int cuentasPorSocio;
+
+    private HttpServer servidor;
+    private ExecutorService executorServidor;
+    private CloseableHttpAsyncClient httpClient;
+    private CuentasAsyncClient cuentasClient;
+    private JsonMapper jsonMapper;
+    private byte[] respuesta;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = JsonMapper.builder().build();
+        respuesta = generarRespuesta(cuentasPorSocio);
+
+        executorServidor = Executors.newFixedThreadPool(4);
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.setExecutor(executorServidor);
+        servidor.createContext("/cuentas/socio/", this::responder);
+        servidor.start();
+
+        httpClient = new CuentasHttpConfig().cuentasHttpAsyncClient(5000, 1000, 100, 50, 500, 30000);
+        cuentasClient = new CuentasAsyncClient(httpClient, jsonMapper,
+                CircuitBreaker.ofDefaults("cuentas"), Bulkhead.ofDefaults("cuentas"), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cuentasClient, "cuentasServiceUrl",
+                "http://localhost:" + servidor.getAddress().getPort());
+        ReflectionTestUtils.setField(cuentasClient, "timeoutMs", 5000L);
+        ReflectionTestUtils.setField(cuentasClient, "hilos", 4);
+        ReflectionTestUtils.setField(cuentasClient, "capacidadCola", 1000);
+        ReflectionTestUtils.invokeMethod(cuentasClient, "iniciar");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        ReflectionTestUtils.invokeMethod(cuentasClient, "detener");
+        httpClient.close();
+        servidor.stop(0);
+        executorServidor.shutdownNow();
+    }
+
+    @Benchmark
+    public List<CuentaDto> consultarConCuentas() {
+        return cuentasClient.getCuentasActivasPorSocio("con-cuentas-1").join();
+    }
+
+    @Benchmark
+    public boolean consultarSinCuentas() {
+        return cuentasClient.tieneCuentasActivas("sin-cuentas-1").join();
+    }
+
+    @Benchmark
+    public List<CuentaDto> decodificarCuentas() {
+        return jsonMapper.readValue(respuesta, LISTA_CUENTAS);
+    }
+
+    private void responder(HttpExchange exchange) throws IOException {
+        String socioId = exchange.getRequestURI().getPath().substring("/cuentas/socio/".length());
+        if (socioId.startsWith("con-cuentas")) {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, respuesta.length);
+            try (OutputStream salida = exchange.getResponseBody()) {
+                salida.write(respuesta);
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        }
+    }
+
+    private static byte[] generarRespuesta(int cantidad) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < cantidad; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"id\":\"").append(i)
+                    .append("\",\"socioId\":\"con-cuentas-1\",\"numeroCuenta\":\"22000")
+                    .append(String.format("%05d", i))
+                    .append("\",\"saldo\":1520.75,\"estado\":\"ACTIVA\",\"tipoCuenta\":\"AHORROS\"")
+                    .append(",\"fechaCreacion\":\"2024-01-15T10:30:00\",\"fechaActualizacion\":\"2024-01-15T10:30:00\"}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de listas de SocioResponseDTO, como las devuelven
+ * GET /api/socios, /pagina y /buscar.
+ * Ejecutar con: ./benchmarks/jmh.sh SocioJsonBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SocioJsonBenchmark {
+
+    @Param({"20", "500"})
+    private int cantidad;
+
+    private JsonMapper jsonMapper;
+    private List<SocioResponseDTO> socios;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        jsonMapper = JsonMapper.builder().build();
+
+        socios = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            SocioResponseDTO socio = new SocioResponseDTO();
+            socio.setId(UUID.randomUUID());
+            socio.setIdentificacion(String.format("17%08d", i));
+            socio.setNombres("Juan Carlos");
+            socio.setApellidos("Pérez González");
+            socio.setEmail("socio" + i + "@cooperativa.com.ec");
+            socio.setTelefono("0987654321");
+            socio.setDireccion("Av. Amazonas N23-45");
+            socio.setTipoIdentificacion("CEDULA");
+            socio.setActivo(true);
+            socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+            socio.setFechaActualizacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+            socios.add(socio);
+        }
+        json = jsonMapper.writeValueAsBytes(socios);
+    }
+
+    @Benchmark
+    public byte[] serializarLista() {
+        return jsonMapper.writeValueAsBytes(socios);
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> deserializarLista() {
+        return jsonMapper.readValue(json,
+                jsonMapper.getTypeFactory().constructCollectionType(List.class, SocioResponseDTO.class));
+    }
+}
@@ -0,0 +1,106 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.SociosApplication;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.seed.SembradorSocios;
+import ec.fin.coacandes.socios.service.SocioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listado de socios (GET /api/socios) contra PostgreSQL, antes y después de
+ * pasar las lecturas a transacciones readOnly y a la proyección SocioResumen:
+ *  - entidadesLecturaEscritura: implementación anterior, entidades Socio en una
+ *    transacción de lectura-escritura (copia para dirty checking y flush al final)
+ *  - entidadesSoloLectura: mismas entidades en una transacción readOnly
+ *  - proyeccion: SocioService.obtenerTodosLosSocios, solo las columnas del listado
+ *
+ * Usa una base dedicada (-Dsocios.benchmark.url, por defecto socios_benchmark en
+ * localhost) que debe existir; el esquema lo crea Flyway y, si tiene menos de
+ * SOCIOS filas, se completa con SembradorSocios.
+ * Ejecutar con: ./benchmarks/jmh.sh SocioListadoBenchmark (gc.alloc.rate.norm = bytes por listado)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SocioListadoBenchmark {
+
+    private static final long SOCIOS = 10_000;
+
+    private ConfigurableApplicationContext contexto;
+    private SocioService socioService;
+    private SocioRepository socioRepository;
+    private SocioMapper socioMapper;
+    private TransactionTemplate lecturaEscritura;
+    private TransactionTemplate soloLectura;
+
+    @Setup
+    public void setUp() throws Exception {
+        contexto = new SpringApplicationBuilder(SociosApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("socios.benchmark.url",
+                                "jdbc:postgresql://localhost:5432/socios_benchmark"),
+                        "spring.jpa.show-sql=false",
+                        "socios.datos-prueba.habilitado=false",
+                        "socios.outbox.relay.habilitado=false",
+                        "logging.level.root=WARN")
+                .run();
+        socioService = contexto.getBean(SocioService.class);
+        socioRepository = contexto.getBean(SocioRepository.class);
+        socioMapper = contexto.getBean(SocioMapper.class);
+
+        PlatformTransactionManager transactionManager = contexto.getBean(PlatformTransactionManager.class);
+        lecturaEscritura = new TransactionTemplate(transactionManager);
+        soloLectura = new TransactionTemplate(transactionManager);
+        soloLectura.setReadOnly(true);
+
+        DataSource dataSource = contexto.getBean(DataSource.class);
+        Long existentes = new JdbcTemplate(dataSource).queryForObject("SELECT count(*) FROM socios", Long.class);
+        if (existentes < SOCIOS) {
+            new SembradorSocios(dataSource, SOCIOS - existentes, 0, 10_000, 42).run(null);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> entidadesLecturaEscritura() {
+        return lecturaEscritura.execute(estado -> mapearEntidades());
+    }
+
+    @Benchmark
+    public List<SocioResponseDTO> entidadesSoloLectura() {
+        return soloLectura.execute(estado -> mapearEntidades());
+    }
+
+    @Benchmark
+    public List<SocioResumenDTO> proyeccion() {
+        return socioService.obtenerTodosLosSocios(false);
+    }
+
+    private List<SocioResponseDTO> mapearEntidades() {
+        return socioRepository.findByActivoTrueOrderByFechaCreacionAscIdAsc(Socio.class).stream()
+                .map(socioMapper::toResponse)
+                .toList();
+    }
+}
@@ -0,0 +1,106 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import org.mapstruct.factory.Mappers;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el mapeo reflexivo de ModelMapper con el mapper generado por MapStruct.
+ * Ejecutar con: ./benchmarks/jmh.sh SocioMapperBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SocioMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private SocioMapper socioMapper;
+    private SocioRequestDTO request;
+    private Socio socio;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        socioMapper = Mappers.getMapper(SocioMapper.class);
+
+        request = new SocioRequestDTO();
+        request.setIdentificacion("1712345678");
+        request.setNombres("Juan Carlos");
+        request.setApellidos("Pérez González");
+        request.setEmail("juan.perez@gmail.com");
+        request.setTelefono("0987654321");
+        request.setDireccion("Av. Amazonas N23-45");
+        request.setTipoIdentificacion("CEDULA");
+        request.setActivo(true);
+
+        socio = new Socio();
+        socio.setId(UUID.randomUUID());
+        socio.setIdentificacion("1712345678");
+        socio.setNombres("Juan Carlos");
+        socio.setApellidos("Pérez González");
+        socio.setEmail("juan.perez@gmail.com");
+        socio.setTelefono("0987654321");
+        socio.setDireccion("Av. Amazonas N23-45");
+        socio.setTipoIdentificacion("CEDULA");
+        socio.setActivo(true);
+        socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+        socio.setFechaActualizacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+    }
+
+    @Benchmark
+    public Socio modelMapperRequestAEntidad() {
+        return modelMapper.map(request, Socio.class);
+    }
+
+    @Benchmark
+    public Socio mapStructRequestAEntidad() {
+        return socioMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public SocioResponseDTO modelMapperEntidadARespuesta() {
+        return modelMapper.map(socio, SocioResponseDTO.class);
+    }
+
+    @Benchmark
+    public SocioResponseDTO mapStructEntidadARespuesta() {
+        return socioMapper.toResponse(socio);
+    }
+
+    @Benchmark
+    public Socio modelMapperActualizacion() {
+        Socio destino = new Socio();
+        modelMapper.map(request, destino);
+        return destino;
+    }
+
+    @Benchmark
+    public Socio mapStructActualizacion() {
+        Socio destino = new Socio();
+        socioMapper.actualizar(request, destino);
+        return destino;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opciones = new OptionsBuilder()
+                .include(SocioMapperBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build();
+        new Runner(opciones).run();
+    }
+}
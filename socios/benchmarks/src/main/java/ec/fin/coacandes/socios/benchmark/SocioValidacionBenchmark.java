@@ -0,0 +1,111 @@
+package ec.fin.coacandes.socios.benchmark;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.validacion.IdentificacionEcuatoriana;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Costo de Bean Validation sobre SocioRequestDTO, como lo ejecuta @Valid en el
+ * controlador. Las variantes "patron*" aíslan las expresiones de los @Pattern
+ * de identificación (la validación anterior, solo formato) y teléfono; las
+ * "verificador*" miden IdentificacionEcuatoriana, que además comprueba el dígito
+ * verificador de la cédula y el RUC.
+ * Ejecutar con: ./benchmarks/jmh.sh SocioValidacionBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SocioValidacionBenchmark {
+
+    private static final Pattern PATRON_IDENTIFICACION = Pattern.compile("^[0-9]{10,13}$");
+    private static final Pattern PATRON_TELEFONO = Pattern.compile("^[0-9]{9,10}$");
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private SocioRequestDTO valido;
+    private SocioRequestDTO invalido;
+    private String ruc;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valido = new SocioRequestDTO();
+        valido.setIdentificacion("1712345675");
+        valido.setNombres("Juan Carlos");
+        valido.setApellidos("Pérez González");
+        valido.setEmail("juan.perez@gmail.com");
+        valido.setTelefono("0987654321");
+        valido.setDireccion("Av. Amazonas N23-45");
+        valido.setTipoIdentificacion("CEDULA");
+        valido.setActivo(true);
+
+        // Falla los dos @Pattern y @Email: incluye el costo de interpolar mensajes
+        invalido = new SocioRequestDTO();
+        invalido.setIdentificacion("17123A5678");
+        invalido.setNombres("Juan Carlos");
+        invalido.setApellidos("Pérez González");
+        invalido.setEmail("juan.perez@");
+        invalido.setTelefono("09876-4321");
+        invalido.setTipoIdentificacion("CEDULA");
+
+        ruc = "1790011674001";
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SocioRequestDTO>> validarRequestValido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SocioRequestDTO>> validarRequestInvalido() {
+        return validator.validate(invalido);
+    }
+
+    @Benchmark
+    public boolean patronIdentificacion() {
+        return PATRON_IDENTIFICACION.matcher(valido.getIdentificacion()).matches();
+    }
+
+    @Benchmark
+    public boolean patronIdentificacionRuc() {
+        return PATRON_IDENTIFICACION.matcher(ruc).matches();
+    }
+
+    @Benchmark
+    public boolean verificadorCedula() {
+        return IdentificacionEcuatoriana.esCedulaValida(valido.getIdentificacion());
+    }
+
+    @Benchmark
+    public boolean verificadorRuc() {
+        return IdentificacionEcuatoriana.esRucValido(ruc);
+    }
+
+    @Benchmark
+    public boolean verificadorInvalido() {
+        return IdentificacionEcuatoriana.esCedulaValida(invalido.getIdentificacion());
+    }
+
+    @Benchmark
+    public boolean patronTelefono() {
+        return PATRON_TELEFONO.matcher(valido.getTelefono()).matches();
+    }
+}
@@ -1,19 +1,14 @@
 package ec.fin.coacandes.socios;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SociosApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(SociosApplication.class, args);
 	}
-
-    @Bean
-    public ModelMapper modelMapper() {
-        return new ModelMapper();
-    }
 }
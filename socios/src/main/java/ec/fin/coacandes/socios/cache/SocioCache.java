@@ -0,0 +1,144 @@
+package ec.fin.coacandes.socios.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria (read-through) de socios por ID y por identificación.
+ *
+ * Los socios se guardan una sola vez, indexados por ID; la identificación solo
+ * apunta al ID. Así, invalidar el ID invalida ambas claves en una sola operación
+ * atómica, incluso si la identificación cambió.
+ *
+ * La carga desde la BD se ejecuta en el hilo que la solicita y fuera de los
+ * bloqueos internos del mapa, de modo que un hilo virtual no queda fijado
+ * (pinned) a su hilo portador mientras espera a JDBC.
+ */
+@Component
+@Slf4j
+public class SocioCache implements MeterBinder {
+
+    private final AsyncCache<UUID, SocioResponseDTO> porId;
+    private final Cache<String, UUID> idPorIdentificacion;
+
+    public SocioCache(@Value("${socios.cache.tamanio-maximo:10000}") long tamanioMaximo,
+                      @Value("${socios.cache.ttl:5m}") Duration ttl) {
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.idPorIdentificacion = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Obtiene el socio desde la caché o lo carga con {@code cargador}.
+     * Las cargas concurrentes del mismo ID se ejecutan una sola vez.
+     */
+    public SocioResponseDTO obtenerPorId(UUID id, Function<UUID, SocioResponseDTO> cargador) {
+        CompletableFuture<SocioResponseDTO> carga = new CompletableFuture<>();
+        CompletableFuture<SocioResponseDTO> enCache = porId.get(id, (clave, executor) -> carga);
+        if (enCache == carga) {
+            try {
+                carga.complete(cargador.apply(id));
+            } catch (RuntimeException e) {
+                // Caffeine descarta automáticamente las cargas fallidas
+                carga.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        SocioResponseDTO socio = esperar(enCache);
+        idPorIdentificacion.put(socio.getIdentificacion(), id);
+        return socio;
+    }
+
+    /**
+     * Obtiene el socio por identificación. Una entrada del índice cuyo socio ya
+     * no está en caché, o cuya identificación cambió, se trata como fallo.
+     */
+    public SocioResponseDTO obtenerPorIdentificacion(String identificacion, Supplier<SocioResponseDTO> cargador) {
+        UUID id = idPorIdentificacion.getIfPresent(identificacion);
+        if (id != null) {
+            CompletableFuture<SocioResponseDTO> enCache = porId.getIfPresent(id);
+            SocioResponseDTO socio = enCache != null && enCache.isDone() && !enCache.isCompletedExceptionally()
+                    ? enCache.join() : null;
+            if (socio != null && Objects.equals(socio.getIdentificacion(), identificacion)) {
+                return socio;
+            }
+            idPorIdentificacion.invalidate(identificacion);
+        }
+
+        SocioResponseDTO socio = cargador.get();
+        return obtenerPorId(socio.getId(), ignorado -> socio);
+    }
+
+    /**
+     * Invalida el socio y las identificaciones indicadas. Dentro de una transacción
+     * la invalidación se difiere hasta después del commit para que una lectura
+     * concurrente no vuelva a cachear el estado anterior.
+     */
+    public void invalidar(UUID id, String... identificaciones) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidarAhora(id, identificaciones);
+                }
+            });
+        } else {
+            invalidarAhora(id, identificaciones);
+        }
+    }
+
+    private void invalidarAhora(UUID id, String... identificaciones) {
+        if (id != null) {
+            porId.synchronous().invalidate(id);
+        }
+        for (String identificacion : identificaciones) {
+            if (identificacion != null) {
+                idPorIdentificacion.invalidate(identificacion);
+            }
+        }
+        log.debug("Caché invalidada para socio {}", id);
+    }
+
+    private static SocioResponseDTO esperar(CompletableFuture<SocioResponseDTO> carga) {
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, porId, "socios.porId");
+        CaffeineCacheMetrics.monitor(registry, idPorIdentificacion, "socios.porIdentificacion");
+    }
+}
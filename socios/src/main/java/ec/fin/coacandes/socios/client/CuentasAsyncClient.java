@@ -0,0 +1,327 @@
+package ec.fin.coacandes.socios.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.async.methods.SimpleRequestProducer;
+import org.apache.hc.client5.http.async.methods.SimpleResponseConsumer;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cliente HTTP para comunicación con el microservicio de Cuentas, sobre el
+ * cliente HTTP no bloqueante de Apache HttpClient 5. Ningún hilo queda esperando
+ * la respuesta: la decodificación se hace en un executor acotado y cada consulta
+ * se cancela (liberando su conexión) si supera {@code microservicio.cuentas.timeout}.
+ *
+ * Las llamadas pasan por el circuit breaker y el bulkhead de Cuentas. 404 es una
+ * lista vacía y un error de conexión o timeout significa que el servicio no está
+ * disponible.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CuentasAsyncClient {
+
+    private static final TypeReference<List<CuentaDto>> LISTA_CUENTAS = new TypeReference<>() {
+    };
+
+    private final CloseableHttpAsyncClient cuentasHttpAsyncClient;
+    private final JsonMapper jsonMapper;
+    private final CircuitBreaker cuentasCircuitBreaker;
+    private final Bulkhead cuentasBulkhead;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${microservicio.cuentas.url:http://localhost:3000}")
+    private String cuentasServiceUrl;
+
+    @Value("${microservicio.cuentas.timeout:5000}")
+    private long timeoutMs;
+
+    @Value("${microservicio.cuentas.async.hilos:4}")
+    private int hilos;
+
+    @Value("${microservicio.cuentas.async.cola:1000}")
+    private int capacidadCola;
+
+    @Value("${microservicio.cuentas.paralelismo-lote:8}")
+    private int paralelismoLote;
+
+    /** Decodifica las respuestas fuera de los hilos de I/O del cliente HTTP */
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void iniciar() {
+        executor = new ThreadPoolExecutor(hilos, hilos, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacidadCola), new CustomizableThreadFactory("cuentas-async-"));
+    }
+
+    @PreDestroy
+    void detener() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Consulta las cuentas activas de un socio sin bloquear al llamador.
+     * Cancelar el future devuelto cancela la petición HTTP en curso.
+     *
+     * @param socioId UUID del socio
+     * @return future con las cuentas activas (vacío si Cuentas responde 404); falla
+     *         con RuntimeException si el servicio de Cuentas no está disponible
+     */
+    public CompletableFuture<List<CuentaDto>> getCuentasActivasPorSocio(String socioId) {
+        CompletableFuture<List<CuentaDto>> consulta = new CompletableFuture<>();
+        CompletableFuture<List<CuentaDto>> resultado = new CompletableFuture<>();
+
+        Bulkhead.decorateCompletionStage(cuentasBulkhead,
+                        CircuitBreaker.decorateCompletionStage(cuentasCircuitBreaker,
+                                () -> consultarCuentas(socioId, consulta)))
+                .get()
+                .whenComplete((cuentas, error) -> {
+                    if (error == null) {
+                        resultado.complete(cuentas);
+                    } else {
+                        resultado.completeExceptionally(traducirError(socioId, error));
+                    }
+                });
+
+        resultado.whenComplete((cuentas, error) -> {
+            // Si el circuito o el bulkhead la rechazaron no hay petición en curso y no tiene efecto
+            if (error instanceof CancellationException) {
+                consulta.cancel(true);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Verifica sin bloquear si un socio tiene cuentas activas
+     *
+     * @param socioId UUID del socio
+     * @return future con true si el socio tiene al menos una cuenta activa
+     */
+    public CompletableFuture<Boolean> tieneCuentasActivas(String socioId) {
+        return getCuentasActivasPorSocio(socioId).thenApply(cuentas -> !cuentas.isEmpty());
+    }
+
+    /**
+     * Verifica varios socios a la vez sin bloquear al llamador. Como máximo
+     * {@code microservicio.cuentas.paralelismo-lote} consultas están en curso al
+     * mismo tiempo: cada una que termina lanza la siguiente. Si una falla, el lote
+     * falla y se cancelan las que siguen en curso; cancelar el future devuelto
+     * también las cancela.
+     *
+     * @param socioIds UUIDs de los socios (los repetidos se consultan una sola vez)
+     * @return future con el mapa socioId → true si tiene al menos una cuenta
+     *         activa, en el orden recibido
+     */
+    public CompletableFuture<Map<String, Boolean>> tieneCuentasActivas(Collection<String> socioIds) {
+        List<String> pendientes = List.copyOf(new LinkedHashSet<>(socioIds));
+        if (pendientes.isEmpty()) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        CompletableFuture<Map<String, Boolean>> lote = new CompletableFuture<>();
+        Map<String, Boolean> resultados = new ConcurrentHashMap<>();
+        Set<CompletableFuture<List<CuentaDto>>> enCurso = ConcurrentHashMap.newKeySet();
+        AtomicInteger siguiente = new AtomicInteger();
+
+        lote.whenComplete((resultado, error) -> {
+            if (error != null) {
+                enCurso.forEach(consulta -> consulta.cancel(true));
+            }
+        });
+        for (int i = 0; i < Math.min(paralelismoLote, pendientes.size()); i++) {
+            consultarSiguiente(pendientes, siguiente, resultados, enCurso, lote);
+        }
+        return lote;
+    }
+
+    /** Lanza la consulta del siguiente socio del lote; al terminar, encadena la próxima */
+    private void consultarSiguiente(List<String> socioIds, AtomicInteger siguiente, Map<String, Boolean> resultados,
+                                    Set<CompletableFuture<List<CuentaDto>>> enCurso,
+                                    CompletableFuture<Map<String, Boolean>> lote) {
+        int indice = siguiente.getAndIncrement();
+        if (indice >= socioIds.size() || lote.isDone()) {
+            return;
+        }
+        String socioId = socioIds.get(indice);
+        CompletableFuture<List<CuentaDto>> consulta = getCuentasActivasPorSocio(socioId);
+        enCurso.add(consulta);
+        if (lote.isDone()) {
+            // El lote terminó mientras se lanzaba la consulta
+            consulta.cancel(true);
+        }
+
+        consulta.whenComplete((cuentas, error) -> {
+            enCurso.remove(consulta);
+            if (error != null) {
+                lote.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+                return;
+            }
+            resultados.put(socioId, !cuentas.isEmpty());
+            if (resultados.size() == socioIds.size()) {
+                Map<String, Boolean> ordenados = new LinkedHashMap<>();
+                socioIds.forEach(id -> ordenados.put(id, resultados.get(id)));
+                lote.complete(ordenados);
+            } else {
+                consultarSiguiente(socioIds, siguiente, resultados, enCurso, lote);
+            }
+        });
+    }
+
+    /**
+     * Lanza la petición y completa {@code consulta} con su resultado. Devuelve la
+     * etapa que termina después de registrar el timer: quien espera la respuesta
+     * no puede verla antes que la métrica.
+     */
+    private CompletableFuture<List<CuentaDto>> consultarCuentas(String socioId,
+                                                                CompletableFuture<List<CuentaDto>> consulta) {
+        SimpleHttpRequest peticion = SimpleRequestBuilder.get(cuentasServiceUrl + "/cuentas/socio/" + socioId).build();
+        AtomicInteger estadoHttp = new AtomicInteger();
+        Timer.Sample muestra = Timer.start(meterRegistry);
+
+        log.debug("Consultando (async) cuentas activas para socio: {}", socioId);
+        Future<SimpleHttpResponse> enCurso = cuentasHttpAsyncClient.execute(
+                SimpleRequestProducer.create(peticion), SimpleResponseConsumer.create(),
+                new FutureCallback<>() {
+                    @Override
+                    public void completed(SimpleHttpResponse respuesta) {
+                        estadoHttp.set(respuesta.getCode());
+                        try {
+                            executor.execute(() -> decodificar(socioId, respuesta, consulta));
+                        } catch (RejectedExecutionException e) {
+                            consulta.completeExceptionally(new RuntimeException(
+                                    "El microservicio de Cuentas está saturado. No se puede validar si el socio tiene cuentas activas.",
+                                    e));
+                        }
+                    }
+
+                    @Override
+                    public void failed(Exception e) {
+                        consulta.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void cancelled() {
+                        consulta.cancel(false);
+                    }
+                });
+
+        // Al vencer el plazo (o al cancelar) se aborta la petición y se libera la conexión
+        return consulta.orTimeout(timeoutMs, TimeUnit.MILLISECONDS).whenComplete((cuentas, error) -> {
+            if (error != null) {
+                enCurso.cancel(true);
+            }
+            muestra.stop(timerConsultas(resultado(estadoHttp.get(), error)));
+        });
+    }
+
+    private void decodificar(String socioId, SimpleHttpResponse respuesta,
+                             CompletableFuture<List<CuentaDto>> consulta) {
+        int estado = respuesta.getCode();
+        try {
+            if (estado == 404) {
+                // Socio no tiene cuentas, esto es válido
+                log.debug("Socio {} no tiene cuentas activas", socioId);
+                consulta.complete(Collections.emptyList());
+            } else if (estado >= 200 && estado < 300) {
+                byte[] cuerpo = respuesta.getBodyBytes();
+                List<CuentaDto> cuentas = cuerpo == null || cuerpo.length == 0
+                        ? null : jsonMapper.readValue(cuerpo, LISTA_CUENTAS);
+                consulta.complete(cuentas != null ? cuentas : Collections.emptyList());
+            } else {
+                consulta.completeExceptionally(new RuntimeException(
+                        "Error al comunicarse con el microservicio de Cuentas: HTTP " + estado));
+            }
+        } catch (RuntimeException e) {
+            consulta.completeExceptionally(new RuntimeException(
+                    "Error al comunicarse con el microservicio de Cuentas: " + e.getMessage(), e));
+        }
+    }
+
+    /** Rechazos del circuito o del bulkhead y errores de E/S como RuntimeException con mensaje para el usuario */
+    private static RuntimeException traducirError(String socioId, Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (causa instanceof CallNotPermittedException) {
+            log.warn("Circuito abierto hacia microservicio de Cuentas, se rechaza consulta para socio {}", socioId);
+            return new RuntimeException(
+                    "El microservicio de Cuentas no está disponible (circuito abierto). No se puede validar si el socio tiene cuentas activas.",
+                    causa);
+        }
+        if (causa instanceof BulkheadFullException) {
+            log.warn("Límite de llamadas concurrentes a Cuentas alcanzado, se rechaza consulta para socio {}", socioId);
+            return new RuntimeException(
+                    "El microservicio de Cuentas está saturado. No se puede validar si el socio tiene cuentas activas.",
+                    causa);
+        }
+        if (causa instanceof CancellationException cancelacion) {
+            return cancelacion;
+        }
+        if (causa instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        // Error de E/S del cliente HTTP o timeout de la consulta
+        log.error("Error de conexión con microservicio de Cuentas: {}", causa.toString());
+        return new RuntimeException(
+                "El microservicio de Cuentas no está disponible. No se puede validar si el socio tiene cuentas activas.",
+                causa);
+    }
+
+    /** Resultado para el tag del timer: ok, no_encontrado, cancelada, error_conexion u otro_error */
+    private static String resultado(int estadoHttp, Throwable error) {
+        if (error == null) {
+            return estadoHttp == 404 ? "no_encontrado" : "ok";
+        }
+        // La canceló quien esperaba la respuesta, no es un error de Cuentas
+        if (error instanceof CancellationException) {
+            return "cancelada";
+        }
+        // Los errores de E/S y el TimeoutException del plazo son excepciones checked
+        return error instanceof RuntimeException ? "otro_error" : "error_conexion";
+    }
+
+    private Timer timerConsultas(String resultado) {
+        return Timer.builder("cuentas.cliente.consultas")
+                .description("Consultas HTTP al microservicio de Cuentas")
+                .tag("operacion", "cuentas_por_socio_async")
+                .tag("resultado", resultado)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,58 @@
+package ec.fin.coacandes.socios.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cliente HTTP no bloqueante de CuentasAsyncClient para la comunicación con el
+ * microservicio de Cuentas.
+ *
+ * Usa un pool de conexiones de Apache HttpClient con keep-alive, expulsión de
+ * conexiones inactivas y timeouts obligatorios, configurados con las
+ * propiedades microservicio.cuentas.*
+ */
+@Configuration
+public class CuentasHttpConfig {
+
+    @Bean
+    public CloseableHttpAsyncClient cuentasHttpAsyncClient(
+            @Value("${microservicio.cuentas.timeout:5000}") long timeoutMs,
+            @Value("${microservicio.cuentas.connect-timeout:1000}") long connectTimeoutMs,
+            @Value("${microservicio.cuentas.pool.max-conexiones:100}") int maxConexiones,
+            @Value("${microservicio.cuentas.pool.max-conexiones-por-ruta:50}") int maxConexionesPorRuta,
+            @Value("${microservicio.cuentas.pool.espera-conexion-ms:500}") long esperaConexionMs,
+            @Value("${microservicio.cuentas.pool.inactividad-max-ms:30000}") long inactividadMaxMs) {
+
+        PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexiones)
+                .setMaxConnPerRoute(maxConexionesPorRuta)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(timeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Tiempo máximo esperando una conexión libre del pool
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(esperaConexionMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(timeoutMs))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(inactividadMaxMs))
+                .build();
+        client.start();
+        return client;
+    }
+}
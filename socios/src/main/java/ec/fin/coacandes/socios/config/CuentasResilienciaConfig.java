@@ -0,0 +1,73 @@
+package ec.fin.coacandes.socios.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Circuit breaker y bulkhead alrededor de las llamadas al microservicio de Cuentas.
+ * Con el circuito abierto o el bulkhead lleno, las llamadas fallan de inmediato.
+ *
+ * Una consulta cancelada por quien la pidió (por ejemplo, al vencer el plazo de
+ * una lectura agregada) no dice nada de la salud de Cuentas: el circuito la
+ * ignora en lugar de contarla como fallo.
+ */
+@Configuration
+@Slf4j
+public class CuentasResilienciaConfig {
+
+    public static final String CUENTAS = "cuentas";
+
+    @Bean
+    public CircuitBreaker cuentasCircuitBreaker(
+            @Value("${microservicio.cuentas.circuito.umbral-fallos:50}") float umbralFallos,
+            @Value("${microservicio.cuentas.circuito.ventana:20}") int ventana,
+            @Value("${microservicio.cuentas.circuito.espera-abierto-ms:10000}") long esperaAbiertoMs,
+            MeterRegistry meterRegistry) {
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(umbralFallos)
+                .slidingWindowSize(ventana)
+                .minimumNumberOfCalls(Math.min(ventana, 10))
+                .waitDurationInOpenState(Duration.ofMillis(esperaAbiertoMs))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .ignoreExceptions(CancellationException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(CUENTAS);
+        circuitBreaker.getEventPublisher().onStateTransition(evento -> {
+            log.warn("Circuito de Cuentas: {}", evento.getStateTransition());
+            meterRegistry.counter("cuentas.circuitbreaker.transiciones",
+                    "desde", evento.getStateTransition().getFromState().name(),
+                    "hacia", evento.getStateTransition().getToState().name()).increment();
+        });
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead cuentasBulkhead(
+            @Value("${microservicio.cuentas.bulkhead.max-concurrentes:20}") int maxConcurrentes,
+            MeterRegistry meterRegistry) {
+
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentes)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(CUENTAS);
+    }
+}
@@ -0,0 +1,72 @@
+package ec.fin.coacandes.socios.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import ec.fin.coacandes.socios.replica.RuteoLecturaDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Pool principal (spring.datasource.*) y, si socios.replica.habilitada=true, un
+ * pool de réplica de lectura (socios.replica.datasource.*).
+ *
+ * El DataSource que usan JPA, JdbcTemplate y Flyway es un
+ * LazyConnectionDataSourceProxy: no toma conexión del pool hasta la primera
+ * sentencia (una lectura resuelta desde la caché no ocupa conexión) y, con
+ * réplica, las transacciones readOnly van a ella y el resto a la primaria.
+ */
+@Configuration
+@Slf4j
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("socios-primaria");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "socios.replica.habilitada", havingValue = "true")
+    @ConfigurationProperties("socios.replica.datasource.hikari")
+    public HikariDataSource dataSourceReplica(
+            @Value("${socios.replica.datasource.url}") String url,
+            @Value("${socios.replica.datasource.username:${spring.datasource.username}}") String usuario,
+            @Value("${socios.replica.datasource.password:${spring.datasource.password}}") String clave) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(clave)
+                .build();
+        dataSource.setPoolName("socios-replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") HikariDataSource primaria,
+                                 @Qualifier("dataSourceReplica") ObjectProvider<HikariDataSource> replica) {
+        HikariDataSource dataSourceReplica = replica.getIfAvailable();
+        if (dataSourceReplica == null) {
+            return new LazyConnectionDataSourceProxy(primaria);
+        }
+        log.info("Lecturas readOnly enrutadas a la réplica {}", dataSourceReplica.getJdbcUrl());
+        return new LazyConnectionDataSourceProxy(new RuteoLecturaDataSource(primaria, dataSourceReplica));
+    }
+}
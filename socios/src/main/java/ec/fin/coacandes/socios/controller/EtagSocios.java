@@ -0,0 +1,106 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.dto.SocioBusquedaDTO;
+import ec.fin.coacandes.socios.dto.SocioPaginaDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * ETags fuertes de las lecturas de socios, calculados a partir de la columna
+ * version (bloqueo optimista) en lugar de serializar y hashear el cuerpo.
+ *
+ * El de un socio es su ID y su versión ("<id>-<versión>"), así dos socios con la
+ * misma versión no comparten ETag, y es lo que PUT acepta en If-Match.
+ * Los de colecciones combinan el ID y la versión de todos los socios en orden y
+ * los datos de paginación que forman parte de la respuesta (hayMas, totales), así
+ * que cambian si cambia cualquier socio, el orden o la pertenencia a la página.
+ * Devolverlos en un ResponseEntity basta: Spring MVC responde 304 a un
+ * If-None-Match coincidente sin escribir el cuerpo.
+ */
+final class EtagSocios {
+
+    /** Versión que ningún socio tiene: un If-Match que no es un ETag de socio nunca coincide */
+    static final long NINGUNA_VERSION = -1;
+
+    private static final long SEMILLA = 0x9E3779B97F4A7C15L;
+
+    private EtagSocios() {
+    }
+
+    static String deSocio(SocioResponseDTO socio) {
+        return "\"" + socio.getId() + "-" + socio.getVersion() + "\"";
+    }
+
+    /**
+     * Versión pedida en If-Match para el socio {@code id}: null si no hay cabecera
+     * o es "*" (cualquier versión). Solo se admite un ETag fuerte de ese socio; un
+     * ETag débil, una lista, el ETag de otro socio o un valor que no es un ETag de
+     * socio dan {@link #NINGUNA_VERSION}.
+     */
+    static Long versionEsperada(String ifMatch, UUID id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String etag = ifMatch.strip();
+        String prefijo = "\"" + id + "-";
+        int digitos = etag.length() - prefijo.length() - 1;
+        if (digitos < 1 || digitos > 18 || !etag.startsWith(prefijo) || etag.charAt(etag.length() - 1) != '"') {
+            return NINGUNA_VERSION;
+        }
+        long version = 0;
+        for (int i = prefijo.length(); i < etag.length() - 1; i++) {
+            char c = etag.charAt(i);
+            if (c < '0' || c > '9') {
+                return NINGUNA_VERSION;
+            }
+            version = version * 10 + (c - '0');
+        }
+        return version;
+    }
+
+    static String dePagina(SocioPaginaDTO pagina) {
+        long h = SEMILLA;
+        for (SocioResponseDTO socio : pagina.getContenido()) {
+            h = huella(h, socio.getId(), socio.getVersion());
+        }
+        return formatear(mezclar(h ^ (pagina.isHayMas() ? 1 : 0)));
+    }
+
+    static String deBusqueda(SocioBusquedaDTO busqueda) {
+        return formatear(mezclar(huella(busqueda.getContenido()) ^ busqueda.getTotalElementos()));
+    }
+
+    static String deResumenes(List<SocioResumenDTO> socios) {
+        return formatear(huella(socios));
+    }
+
+    private static long huella(List<SocioResumenDTO> socios) {
+        long h = SEMILLA;
+        for (SocioResumenDTO socio : socios) {
+            h = huella(h, socio.getId(), socio.getVersion());
+        }
+        return mezclar(h ^ socios.size());
+    }
+
+    private static long huella(long h, UUID id, Long version) {
+        h = mezclar(h ^ id.getMostSignificantBits());
+        h = mezclar(h ^ id.getLeastSignificantBits());
+        return mezclar(h ^ (version != null ? version : 0));
+    }
+
+    private static String formatear(long huella) {
+        return '"' + Long.toHexString(huella) + '"';
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,16 +1,38 @@
 package ec.fin.coacandes.socios.controller;
 
 
+import ec.fin.coacandes.socios.dto.ImportacionResultadoDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasPaginaDTO;
+import ec.fin.coacandes.socios.dto.SocioBusquedaDTO;
+import ec.fin.coacandes.socios.dto.SocioFiltroDTO;
+import ec.fin.coacandes.socios.dto.SocioPaginaDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
+import ec.fin.coacandes.socios.idempotencia.RespuestasIdempotentes;
+import ec.fin.coacandes.socios.service.ConflictoVersionException;
 import ec.fin.coacandes.socios.service.SocioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,31 +43,120 @@ import java.util.UUID;
 public class SocioController {
 
     private final SocioService socioService;
+    private final JsonMapper jsonMapper;
+    private final RespuestasIdempotentes respuestasIdempotentes;
 
     @PostMapping
-    @Operation(summary = "Crear un nuevo socio")
-    public ResponseEntity<SocioResponseDTO> crearSocio(@Valid @RequestBody SocioRequestDTO request) {
-        return new ResponseEntity<>(socioService.crearSocio(request), HttpStatus.CREATED);
+    @Operation(summary = "Crear un nuevo socio",
+            description = "Con la cabecera Idempotency-Key, los reintentos devuelven la respuesta original")
+    public ResponseEntity<SocioResponseDTO> crearSocio(
+            @RequestHeader(value = RespuestasIdempotentes.CABECERA, required = false) String claveIdempotencia,
+            @Valid @RequestBody SocioRequestDTO request) {
+        return respuestasIdempotentes.ejecutar(claveIdempotencia, "POST /api/socios", request, () -> {
+            SocioResponseDTO socio = socioService.crearSocio(request);
+            return ResponseEntity.status(HttpStatus.CREATED).eTag(EtagSocios.deSocio(socio)).body(socio);
+        });
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Actualizar socio existente")
+    @Operation(summary = "Actualizar socio existente",
+            description = "Con If-Match (ETag del socio) solo se actualiza si nadie lo modificó desde entonces. " +
+                    "Si la versión no coincide, o hay una actualización concurrente, responde 409 con el socio " +
+                    "vigente y su ETag. Con la cabecera Idempotency-Key, los reintentos devuelven la respuesta original")
     public ResponseEntity<SocioResponseDTO> actualizarSocio(
             @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestHeader(value = RespuestasIdempotentes.CABECERA, required = false) String claveIdempotencia,
             @Valid @RequestBody SocioRequestDTO request) {
-        return ResponseEntity.ok(socioService.actualizarSocio(id, request));
+        Long versionEsperada = EtagSocios.versionEsperada(ifMatch, id);
+        // If-Match es parte de la solicitud: con otra versión esperada la clave no se puede repetir
+        return respuestasIdempotentes.ejecutar(claveIdempotencia, "PUT /api/socios/" + id,
+                new SolicitudActualizacion(request, ifMatch), () -> {
+                    SocioResponseDTO socio = socioService.actualizarSocio(id, request, versionEsperada);
+                    return ResponseEntity.ok().eTag(EtagSocios.deSocio(socio)).body(socio);
+                });
+    }
+
+    /**
+     * Fuera de RespuestasIdempotentes: el conflicto no se guarda como respuesta de la
+     * clave, así que un reintento con la misma Idempotency-Key vuelve a intentarlo.
+     */
+    @ExceptionHandler(ConflictoVersionException.class)
+    public ResponseEntity<SocioResponseDTO> conflictoVersion(ConflictoVersionException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .eTag(EtagSocios.deSocio(e.getActual()))
+                .body(e.getActual());
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Obtener socio por ID")
+    @Operation(summary = "Obtener socio por ID",
+            description = "Incluye ETag; con If-None-Match responde 304 sin cuerpo si el socio no cambió")
     public ResponseEntity<SocioResponseDTO> obtenerSocio(@PathVariable UUID id) {
-        return ResponseEntity.ok(socioService.obtenerSocioPorId(id));
+        SocioResponseDTO socio = socioService.obtenerSocioPorId(id);
+        return ResponseEntity.ok().eTag(EtagSocios.deSocio(socio)).body(socio);
+    }
+
+    @GetMapping("/{id}/con-cuentas")
+    @Operation(summary = "Obtener socio por ID junto con sus cuentas activas",
+            description = "Si Cuentas no responde a tiempo se devuelve el socio con cuentasDisponibles=false")
+    public ResponseEntity<SocioConCuentasDTO> obtenerSocioConCuentas(@PathVariable UUID id) {
+        return ResponseEntity.ok(socioService.obtenerSocioConCuentas(id));
     }
 
     @GetMapping
-    @Operation(summary = "Obtener todos los socios")
-    public ResponseEntity<List<SocioResponseDTO>> obtenerTodos() {
-        return ResponseEntity.ok(socioService.obtenerTodosLosSocios());
+    @Operation(summary = "Obtener todos los socios",
+            description = "Por defecto solo socios activos; incluirInactivos=true devuelve también los dados de baja. " +
+                    "Incluye ETag del listado (If-None-Match → 304)")
+    public ResponseEntity<List<SocioResumenDTO>> obtenerTodos(
+            @RequestParam(defaultValue = "false") boolean incluirInactivos) {
+        List<SocioResumenDTO> socios = socioService.obtenerTodosLosSocios(incluirInactivos);
+        return ResponseEntity.ok().eTag(EtagSocios.deResumenes(socios)).body(socios);
+    }
+
+    @GetMapping("/pagina")
+    @Operation(summary = "Obtener socios paginados por cursor (keyset)",
+            description = "Incluye ETag de la página (If-None-Match → 304)")
+    public ResponseEntity<SocioPaginaDTO> obtenerPagina(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int tamanio,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos) {
+        SocioPaginaDTO pagina = socioService.obtenerPaginaSocios(cursor, tamanio, incluirInactivos);
+        return ResponseEntity.ok().eTag(EtagSocios.dePagina(pagina)).body(pagina);
+    }
+
+    @GetMapping("/pagina/con-cuentas")
+    @Operation(summary = "Obtener socios paginados por cursor junto con sus cuentas activas",
+            description = "Los socios cuyas cuentas no llegan a tiempo se devuelven sin ellas (completa=false)")
+    public ResponseEntity<SocioConCuentasPaginaDTO> obtenerPaginaConCuentas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int tamanio,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos) {
+        return ResponseEntity.ok(socioService.obtenerPaginaSociosConCuentas(cursor, tamanio, incluirInactivos));
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar socios por nombres/apellidos (prefijo), email, tipo de identificación y estado",
+            description = "Paginación y orden con los parámetros page, size y sort (p. ej. sort=apellidos,asc). " +
+                    "Incluye ETag de la página (If-None-Match → 304)")
+    public ResponseEntity<SocioBusquedaDTO> buscar(
+            @ModelAttribute SocioFiltroDTO filtro,
+            @PageableDefault(size = 20, sort = "apellidos", direction = Sort.Direction.ASC) Pageable pageable) {
+        SocioBusquedaDTO busqueda = socioService.buscarSocios(filtro, pageable);
+        return ResponseEntity.ok().eTag(EtagSocios.deBusqueda(busqueda)).body(busqueda);
+    }
+
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar todos los socios en streaming (NDJSON)")
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        StreamingResponseBody cuerpo = salida -> socioService.exportarSocios(socio -> {
+            try {
+                salida.write(jsonMapper.writeValueAsBytes(socio));
+                salida.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
     }
 
     @DeleteMapping("/{id}")
@@ -56,9 +167,28 @@ public class SocioController {
     }
 
     @GetMapping("/identificacion/{identificacion}")
-    @Operation(summary = "Buscar socio por identificación")
+    @Operation(summary = "Buscar socio por identificación",
+            description = "Incluye ETag; con If-None-Match responde 304 sin cuerpo si el socio no cambió")
     public ResponseEntity<SocioResponseDTO> buscarPorIdentificacion(
-            @PathVariable String identificacion) {
-        return ResponseEntity.ok(socioService.obtenerSocioPorIdentificacion(identificacion));
+            @PathVariable String identificacion,
+            @RequestParam(defaultValue = "false") boolean incluirInactivos) {
+        SocioResponseDTO socio = socioService.obtenerSocioPorIdentificacion(identificacion, incluirInactivos);
+        return ResponseEntity.ok().eTag(EtagSocios.deSocio(socio)).body(socio);
+    }
+
+    @PostMapping(value = "/importar", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Importación masiva de socios desde un arreglo JSON")
+    public ResponseEntity<ImportacionResultadoDTO> importar(@RequestBody List<SocioRequestDTO> socios) {
+        return ResponseEntity.ok(socioService.importarSocios(socios));
+    }
+
+    @PostMapping(value = "/importar", consumes = "text/csv")
+    @Operation(summary = "Importación masiva de socios desde CSV (cabecera con nombres de campos)")
+    public ResponseEntity<ImportacionResultadoDTO> importarCsv(InputStream csv) {
+        return ResponseEntity.ok(socioService.importarSociosCsv(
+                new InputStreamReader(csv, StandardCharsets.UTF_8)));
+    }
+
+    private record SolicitudActualizacion(SocioRequestDTO request, String ifMatch) {
     }
 }
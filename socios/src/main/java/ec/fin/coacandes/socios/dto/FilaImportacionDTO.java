@@ -0,0 +1,31 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Resultado de importación de una fila")
+public class FilaImportacionDTO {
+
+    @Schema(description = "Número de fila (1 = primer socio, sin contar cabecera CSV)", example = "1")
+    private int fila;
+
+    @Schema(example = "1712345678")
+    private String identificacion;
+
+    @Schema(description = "true si el socio fue creado", example = "true")
+    private boolean creado;
+
+    @Schema(description = "ID asignado al socio creado", example = "123e4567-e89b-12d3-a456-426614174000")
+    private UUID id;
+
+    @Schema(description = "Motivos de rechazo de la fila")
+    private List<String> errores;
+}
@@ -0,0 +1,34 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Schema(description = "Reporte de una importación masiva de socios")
+public class ImportacionResultadoDTO {
+
+    @Schema(example = "1000")
+    private int total;
+
+    @Schema(example = "995")
+    private int creados;
+
+    @Schema(example = "5")
+    private int rechazados;
+
+    @Schema(description = "Resultado por fila, en el orden recibido")
+    private List<FilaImportacionDTO> filas = new ArrayList<>();
+
+    public void agregar(FilaImportacionDTO fila) {
+        filas.add(fila);
+        total++;
+        if (fila.isCreado()) {
+            creados++;
+        } else {
+            rechazados++;
+        }
+    }
+}
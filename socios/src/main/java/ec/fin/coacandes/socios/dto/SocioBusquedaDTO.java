@@ -0,0 +1,29 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de resultados de búsqueda de socios")
+public class SocioBusquedaDTO {
+
+    private List<SocioResumenDTO> contenido;
+
+    @Schema(description = "Número de página (desde 0)", example = "0")
+    private int pagina;
+
+    @Schema(example = "20")
+    private int tamanio;
+
+    @Schema(example = "1250")
+    private long totalElementos;
+
+    @Schema(example = "63")
+    private int totalPaginas;
+}
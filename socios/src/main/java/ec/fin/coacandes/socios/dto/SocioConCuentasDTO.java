@@ -0,0 +1,27 @@
+package ec.fin.coacandes.socios.dto;
+
+import ec.fin.coacandes.socios.client.CuentaDto;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Socio junto con sus cuentas activas en el microservicio de Cuentas")
+public class SocioConCuentasDTO {
+
+    private SocioResponseDTO socio;
+
+    @Schema(description = "Cuentas activas del socio; null si no se pudieron obtener")
+    private List<CuentaDto> cuentas;
+
+    @Schema(description = "false si Cuentas no respondió a tiempo o falló (respuesta parcial)", example = "true")
+    private boolean cuentasDisponibles;
+
+    @Schema(description = "Motivo por el que no se incluyen las cuentas", example = "El microservicio de Cuentas no respondió a tiempo")
+    private String errorCuentas;
+}
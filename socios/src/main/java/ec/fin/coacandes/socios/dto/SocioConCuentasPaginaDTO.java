@@ -0,0 +1,26 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de socios (por cursor) con sus cuentas activas")
+public class SocioConCuentasPaginaDTO {
+
+    private List<SocioConCuentasDTO> contenido;
+
+    @Schema(description = "Cursor opaco para solicitar la siguiente página; null si no hay más")
+    private String siguienteCursor;
+
+    @Schema(description = "Indica si existen más socios después de esta página", example = "true")
+    private boolean hayMas;
+
+    @Schema(description = "false si a algún socio le faltan las cuentas (respuesta parcial)", example = "true")
+    private boolean completa;
+}
@@ -0,0 +1,24 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+@Schema(description = "Filtros de búsqueda de socios (todos opcionales)")
+public class SocioFiltroDTO {
+
+    @Schema(description = "Prefijo de los nombres, sin distinguir mayúsculas", example = "Juan")
+    private String nombres;
+
+    @Schema(description = "Prefijo de los apellidos, sin distinguir mayúsculas", example = "Pérez")
+    private String apellidos;
+
+    @Schema(description = "Email exacto, sin distinguir mayúsculas", example = "juan.perez@email.com")
+    private String email;
+
+    @Schema(example = "CEDULA", allowableValues = { "CEDULA", "RUC" })
+    private String tipoIdentificacion;
+
+    @Schema(example = "true")
+    private Boolean activo;
+}
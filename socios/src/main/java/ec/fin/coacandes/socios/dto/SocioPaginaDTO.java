@@ -0,0 +1,25 @@
+package ec.fin.coacandes.socios.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Página de socios obtenida por cursor (keyset)")
+public class SocioPaginaDTO {
+
+    @Schema(description = "Socios de la página, ordenados por fecha de creación e ID")
+    private List<SocioResponseDTO> contenido;
+
+    @Schema(description = "Cursor opaco para solicitar la siguiente página; null si no hay más",
+            example = "MjAyNC0wMS0xNVQxMDozMDowMF8xMjNlNDU2Ny1lODliLTEyZDMtYTQ1Ni00MjY2MTQxNzQwMDA")
+    private String siguienteCursor;
+
+    @Schema(description = "Indica si existen más socios después de esta página", example = "true")
+    private boolean hayMas;
+}
@@ -4,17 +4,19 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import ec.fin.coacandes.socios.validacion.IdentificacionValida;
 import lombok.Data;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
 @Data
+@IdentificacionValida
 @Schema(description = "DTO para creación y actualización de socios")
 public class SocioRequestDTO {
 
     @NotBlank(message = "La identificación es obligatoria")
-    @Pattern(regexp = "^[0-9]{10,13}$", message = "Identificación inválida")
-    @Schema(description = "Cédula (10 dígitos) o RUC (13 dígitos)", example = "1712345678")
+    @Schema(description = "Cédula (10 dígitos) o RUC (13 dígitos) con dígito verificador válido",
+            example = "1712345675")
     private String identificacion;
 
     @NotBlank(message = "Los nombres son obligatorios")
@@ -42,4 +42,7 @@ public class SocioResponseDTO {
 
     @Schema(example = "2024-01-15T10:30:00")
     private LocalDateTime fechaActualizacion;
+
+    @Schema(description = "Versión para bloqueo optimista; forma parte del ETag del socio (If-Match en PUT)", example = "3")
+    private Long version;
 }
\ No newline at end of file
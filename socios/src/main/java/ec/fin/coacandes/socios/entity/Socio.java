@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "socios")
+@Table(name = "socios", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_socios_identificacion", columnNames = "identificacion"),
+        @UniqueConstraint(name = "uk_socios_email", columnNames = "email")
+}, indexes = {
+        // Soporta la paginación por cursor (keyset) sobre (fecha_creacion, id)
+        @Index(name = "idx_socios_fecha_creacion_id", columnList = "fecha_creacion, id")
+})
 @Data
 public class Socio {
 
@@ -18,7 +24,7 @@ public class Socio {
     @GeneratedValue(strategy = GenerationType.AUTO)
     private UUID id;
 
-    @Column(unique = true, nullable = false, length = 13)
+    @Column(nullable = false, length = 13)
     private String identificacion; // Cédula o RUC
 
     @Column(nullable = false, length = 100)
@@ -27,7 +33,7 @@ public class Socio {
     @Column(nullable = false, length = 100)
     private String apellidos;
 
-    @Column(unique = true, length = 100)
+    @Column(length = 100)
     private String email;
 
     @Column(length = 10)
@@ -49,4 +55,10 @@ public class Socio {
     @UpdateTimestamp
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
+
+    // Bloqueo optimista: cada UPDATE de Hibernate exige y sube la versión leída.
+    // Las inserciones JDBC la dejan en 0 (DEFAULT de la columna, V5)
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
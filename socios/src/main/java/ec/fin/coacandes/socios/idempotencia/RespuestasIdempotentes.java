@@ -0,0 +1,124 @@
+package ec.fin.coacandes.socios.idempotencia;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Respuestas de POST/PUT guardadas por cabecera Idempotency-Key, para que el
+ * reintento de un cliente (p. ej. tras un timeout) reciba la respuesta original
+ * sin ejecutar de nuevo la operación.
+ *
+ * En memoria, acotada por tamaño y con expiración (socios.idempotencia.*). Solo
+ * se guardan las respuestas exitosas: si la operación falla, la clave se libera y
+ * un reintento la ejecuta otra vez. Un duplicado que llega mientras la primera
+ * petición sigue en curso espera su resultado en lugar de ejecutarse en paralelo.
+ */
+@Component
+@Slf4j
+public class RespuestasIdempotentes implements MeterBinder {
+
+    public static final String CABECERA = "Idempotency-Key";
+    public static final String CABECERA_REPETIDA = "Idempotent-Replayed";
+
+    static final int LONGITUD_MAXIMA_CLAVE = 255;
+
+    private final AsyncCache<String, Respuesta> respuestas;
+    private final long esperaMs;
+
+    public RespuestasIdempotentes(@Value("${socios.idempotencia.tamanio-maximo:10000}") long tamanioMaximo,
+                                  @Value("${socios.idempotencia.ttl:24h}") Duration ttl,
+                                  @Value("${socios.idempotencia.espera-ms:10000}") long esperaMs) {
+        this.respuestas = Caffeine.newBuilder()
+                .maximumSize(tamanioMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        this.esperaMs = esperaMs;
+    }
+
+    /**
+     * Ejecuta {@code operacion} una sola vez por clave. Sin clave se ejecuta
+     * siempre. {@code ambito} distingue la misma clave usada en operaciones
+     * distintas (método y ruta) y {@code solicitud} debe coincidir en los reintentos.
+     */
+    public <T> ResponseEntity<T> ejecutar(String clave, String ambito, Object solicitud,
+                                          Supplier<ResponseEntity<T>> operacion) {
+        if (clave == null) {
+            return operacion.get();
+        }
+        if (clave.isBlank() || clave.length() > LONGITUD_MAXIMA_CLAVE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    CABECERA + " debe tener entre 1 y " + LONGITUD_MAXIMA_CLAVE + " caracteres");
+        }
+
+        CompletableFuture<Respuesta> enCurso = new CompletableFuture<>();
+        CompletableFuture<Respuesta> registrada = respuestas.get(ambito + " " + clave, (id, executor) -> enCurso);
+        if (registrada == enCurso) {
+            try {
+                ResponseEntity<T> respuesta = operacion.get();
+                enCurso.complete(new Respuesta(solicitud, respuesta));
+                return respuesta;
+            } catch (RuntimeException e) {
+                // Caffeine descarta las entradas fallidas: un reintento vuelve a ejecutar
+                enCurso.completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        Respuesta previa = esperar(registrada, clave);
+        if (!Objects.equals(previa.solicitud(), solicitud)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_CONTENT,
+                    CABECERA + " ya fue usada con una solicitud diferente");
+        }
+        log.debug("Respuesta repetida para {} {}", ambito, clave);
+        @SuppressWarnings("unchecked")
+        ResponseEntity<T> original = (ResponseEntity<T>) previa.respuesta();
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(CABECERA_REPETIDA, "true")
+                .body(original.getBody());
+    }
+
+    private Respuesta esperar(CompletableFuture<Respuesta> registrada, String clave) {
+        try {
+            return registrada.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "La solicitud con " + CABECERA + " " + clave + " sigue en proceso");
+        } catch (ExecutionException e) {
+            // El duplicado recibe el mismo error que la petición original
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la solicitud original", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, respuestas, "socios.idempotencia");
+    }
+
+    private record Respuesta(Object solicitud, ResponseEntity<?> respuesta) {
+    }
+}
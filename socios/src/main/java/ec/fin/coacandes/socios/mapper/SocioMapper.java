@@ -0,0 +1,36 @@
+package ec.fin.coacandes.socios.mapper;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.SocioResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Mapeo entre DTOs y la entidad Socio generado en tiempo de compilación por
+ * MapStruct (sin reflexión). Conserva la semántica del ModelMapper anterior:
+ * los valores null del request se copian tal cual a la entidad.
+ */
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SocioMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Socio toEntity(SocioRequestDTO request);
+
+    SocioResponseDTO toResponse(Socio socio);
+
+    SocioResumenDTO toResumen(SocioResumen socio);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void actualizar(SocioRequestDTO request, @MappingTarget Socio socio);
+}
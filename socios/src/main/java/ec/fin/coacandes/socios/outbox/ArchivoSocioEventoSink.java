@@ -0,0 +1,60 @@
+package ec.fin.coacandes.socios.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Agrega los eventos como NDJSON (un evento por línea) a un archivo local.
+ * Es el destino por defecto, útil en desarrollo y pruebas sin un broker.
+ */
+@Component
+@ConditionalOnProperty(name = "socios.outbox.sink", havingValue = "archivo", matchIfMissing = true)
+@Slf4j
+public class ArchivoSocioEventoSink implements SocioEventoSink {
+
+    private final JsonMapper jsonMapper;
+    private final Path ruta;
+
+    public ArchivoSocioEventoSink(JsonMapper jsonMapper,
+                                  @Value("${socios.outbox.archivo.ruta:outbox/socios-eventos.ndjson}") Path ruta) {
+        this.jsonMapper = jsonMapper;
+        this.ruta = ruta;
+    }
+
+    @Override
+    public void publicar(List<SocioEvento> eventos) throws IOException {
+        ByteArrayOutputStream lineas = new ByteArrayOutputStream();
+        for (SocioEvento evento : eventos) {
+            lineas.write(jsonMapper.writeValueAsBytes(evento));
+            lineas.write('\n');
+        }
+
+        if (ruta.getParent() != null) {
+            Files.createDirectories(ruta.getParent());
+        }
+        try (FileChannel archivo = FileChannel.open(ruta, CREATE, WRITE, APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lineas.toByteArray());
+            while (buffer.hasRemaining()) {
+                archivo.write(buffer);
+            }
+            // Antes de marcar los eventos como publicados deben estar en disco
+            archivo.force(false);
+        }
+        log.debug("{} eventos de socios escritos en {}", eventos.size(), ruta);
+    }
+}
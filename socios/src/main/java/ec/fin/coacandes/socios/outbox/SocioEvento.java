@@ -0,0 +1,16 @@
+package ec.fin.coacandes.socios.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Evento leído del outbox tal como se publica. {@code id} es creciente: los
+ * consumidores lo usan para descartar duplicados (la entrega es al menos una vez).
+ *
+ * @param datos estado del socio después del cambio (SocioResponseDTO en JSON)
+ */
+public record SocioEvento(long id, SocioEventoTipo tipo, UUID socioId, LocalDateTime fecha,
+                          @JsonRawValue String datos) {
+}
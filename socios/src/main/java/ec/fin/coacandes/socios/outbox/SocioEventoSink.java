@@ -0,0 +1,12 @@
+package ec.fin.coacandes.socios.outbox;
+
+import java.util.List;
+
+/**
+ * Destino de los eventos del outbox. Recibe los eventos en orden de id y debe
+ * lanzar una excepción si no pudo entregarlos todos: el lote se reintenta completo.
+ */
+public interface SocioEventoSink {
+
+    void publicar(List<SocioEvento> eventos) throws Exception;
+}
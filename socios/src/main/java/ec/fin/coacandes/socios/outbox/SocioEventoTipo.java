@@ -0,0 +1,13 @@
+package ec.fin.coacandes.socios.outbox;
+
+/**
+ * Tipos de evento publicados por el outbox de socios. Un cambio del flag
+ * activo se publica como ACTIVADO/DESACTIVADO en lugar de ACTUALIZADO.
+ */
+public enum SocioEventoTipo {
+    CREADO,
+    ACTUALIZADO,
+    ACTIVADO,
+    DESACTIVADO,
+    ELIMINADO
+}
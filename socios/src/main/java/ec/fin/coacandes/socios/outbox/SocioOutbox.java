@@ -0,0 +1,40 @@
+package ec.fin.coacandes.socios.outbox;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+/**
+ * Registra eventos de socios en la tabla socios_outbox. Exige una transacción
+ * activa (MANDATORY): el evento se confirma o se descarta junto con el cambio
+ * del socio que lo origina.
+ */
+@Component
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class SocioOutbox {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO socios_outbox (socio_id, tipo, datos) VALUES (?, ?, ?::jsonb)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JsonMapper jsonMapper;
+
+    public void registrar(SocioEventoTipo tipo, SocioResponseDTO socio) {
+        jdbcTemplate.update(INSERT_SQL, socio.getId(), tipo.name(), jsonMapper.writeValueAsString(socio));
+    }
+
+    public void registrar(SocioEventoTipo tipo, List<SocioResponseDTO> socios) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, socios, socios.size(), (ps, socio) -> {
+            ps.setObject(1, socio.getId());
+            ps.setString(2, tipo.name());
+            ps.setString(3, jsonMapper.writeValueAsString(socio));
+        });
+    }
+}
@@ -0,0 +1,130 @@
+package ec.fin.coacandes.socios.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publica los eventos pendientes de socios_outbox en lotes, en orden de id.
+ *
+ * Cada lote se lee, publica y marca dentro de una transacción que toma un
+ * advisory lock: con varias instancias solo una publica a la vez, así que los
+ * eventos de un mismo socio nunca se adelantan entre sí. Si el destino falla,
+ * la transacción se revierte y el lote completo se reintenta en el siguiente
+ * ciclo (entrega al menos una vez).
+ */
+@Component
+@ConditionalOnProperty(name = "socios.outbox.relay.habilitado", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SocioOutboxRelay {
+
+    /** Clave del advisory lock de PostgreSQL que serializa el relay entre instancias */
+    private static final long CLAVE_BLOQUEO = "socios_outbox".hashCode();
+
+    private static final String SELECT_PENDIENTES_SQL =
+            "SELECT id, tipo, socio_id, fecha_creacion, datos::text AS datos FROM socios_outbox " +
+                    "WHERE publicado_en IS NULL ORDER BY id LIMIT ?";
+
+    private static final String MARCAR_PUBLICADOS_SQL =
+            "UPDATE socios_outbox SET publicado_en = now() WHERE id = ANY (?)";
+
+    private static final String DEPURAR_SQL =
+            "DELETE FROM socios_outbox WHERE publicado_en < ?";
+
+    private static final RowMapper<SocioEvento> EVENTO = (rs, fila) -> new SocioEvento(
+            rs.getLong("id"),
+            SocioEventoTipo.valueOf(rs.getString("tipo")),
+            rs.getObject("socio_id", UUID.class),
+            rs.getTimestamp("fecha_creacion").toLocalDateTime(),
+            rs.getString("datos"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SocioEventoSink sink;
+    private final int tamanioLote;
+    private final Duration retencion;
+    private final Counter publicados;
+    private final Counter fallos;
+
+    public SocioOutboxRelay(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            SocioEventoSink sink,
+                            MeterRegistry meterRegistry,
+                            @Value("${socios.outbox.lote:200}") int tamanioLote,
+                            @Value("${socios.outbox.retencion:7d}") Duration retencion) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.tamanioLote = tamanioLote;
+        this.retencion = retencion;
+        this.publicados = meterRegistry.counter("socios.outbox.eventos", "resultado", "publicado");
+        this.fallos = meterRegistry.counter("socios.outbox.eventos", "resultado", "error");
+    }
+
+    @Scheduled(fixedDelayString = "${socios.outbox.intervalo-ms:1000}")
+    public void publicarPendientes() {
+        try {
+            // Se sigue mientras los lotes salgan llenos, para vaciar ráfagas sin esperar al siguiente ciclo
+            Integer publicadosLote;
+            do {
+                publicadosLote = transactionTemplate.execute(estado -> publicarLote());
+            } while (publicadosLote != null && publicadosLote == tamanioLote);
+        } catch (RuntimeException e) {
+            fallos.increment();
+            log.warn("No se pudieron publicar eventos de socios, se reintentará: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${socios.outbox.depuracion-cron:0 30 3 * * *}")
+    public void depurarPublicados() {
+        int eliminados = jdbcTemplate.update(DEPURAR_SQL, Timestamp.valueOf(LocalDateTime.now().minus(retencion)));
+        log.info("Outbox de socios: {} eventos publicados depurados", eliminados);
+    }
+
+    private int publicarLote() {
+        Boolean bloqueado = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CLAVE_BLOQUEO);
+        if (!Boolean.TRUE.equals(bloqueado)) {
+            return 0;
+        }
+
+        List<SocioEvento> eventos = jdbcTemplate.query(SELECT_PENDIENTES_SQL, EVENTO, tamanioLote);
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            sink.publicar(eventos);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+
+        // Se marcan por id (no por rango): un evento de una transacción que confirme
+        // durante la publicación no debe quedar marcado sin haberse enviado
+        Long[] ids = eventos.stream().map(SocioEvento::id).toArray(Long[]::new);
+        jdbcTemplate.update(MARCAR_PUBLICADOS_SQL, ps -> {
+            Array arreglo = ps.getConnection().createArrayOf("bigint", ids);
+            ps.setArray(1, arreglo);
+        });
+
+        publicados.increment(eventos.size());
+        log.debug("Outbox de socios: {} eventos publicados (hasta id {})", eventos.size(), ids[ids.length - 1]);
+        return eventos.size();
+    }
+}
@@ -0,0 +1,52 @@
+package ec.fin.coacandes.socios.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Envía cada lote como un arreglo JSON en un POST al webhook configurado.
+ * Cualquier respuesta que no sea 2xx hace que el lote se reintente.
+ */
+@Component
+@ConditionalOnProperty(name = "socios.outbox.sink", havingValue = "webhook")
+@Slf4j
+public class WebhookSocioEventoSink implements SocioEventoSink {
+
+    private final JsonMapper jsonMapper;
+    private final RestClient restClient;
+    private final String url;
+
+    public WebhookSocioEventoSink(JsonMapper jsonMapper,
+                                  @Value("${socios.outbox.webhook.url}") String url,
+                                  @Value("${socios.outbox.webhook.timeout-ms:5000}") long timeoutMs) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .build());
+        requestFactory.setReadTimeout(Duration.ofMillis(timeoutMs));
+
+        this.jsonMapper = jsonMapper;
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.url = url;
+    }
+
+    @Override
+    public void publicar(List<SocioEvento> eventos) {
+        restClient.post()
+                .uri(url)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonMapper.writeValueAsBytes(eventos))
+                .retrieve()
+                .toBodilessEntity();
+        log.debug("{} eventos de socios enviados a {}", eventos.size(), url);
+    }
+}
@@ -0,0 +1,81 @@
+package ec.fin.coacandes.socios.replica;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Lectura de las propias escrituras (read-your-writes) con réplica de lectura.
+ *
+ * Recuerda durante {@code socios.replica.lectura-propia-ms} los socios modificados
+ * por esta instancia; mientras tanto sus lecturas por ID o identificación se hacen
+ * en la primaria, porque la réplica puede no haber aplicado aún el cambio (y la
+ * caché de socios lo guardaría desactualizado). Los listados y páginas siguen
+ * yendo a la réplica.
+ *
+ * Sin réplica, o con la ventana en 0, no hace nada.
+ */
+@Component
+public class EscriturasRecientes {
+
+    private final boolean activa;
+    private final Cache<Object, Boolean> claves;
+
+    public EscriturasRecientes(@Value("${socios.replica.habilitada:false}") boolean replicaHabilitada,
+                               @Value("${socios.replica.lectura-propia-ms:1000}") long ventanaMs) {
+        this.activa = replicaHabilitada && ventanaMs > 0;
+        this.claves = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(ventanaMs, 1)))
+                .build();
+    }
+
+    /**
+     * Registra el socio y sus identificaciones como recién escritos. Dentro de una
+     * transacción la ventana empieza después del commit, que es cuando la réplica
+     * puede empezar a recibir el cambio.
+     */
+    public void registrar(UUID id, String... identificaciones) {
+        if (!activa) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrarAhora(id, identificaciones);
+                }
+            });
+        } else {
+            registrarAhora(id, identificaciones);
+        }
+    }
+
+    /**
+     * Ejecuta la lectura de {@code clave} (ID o identificación) en la primaria si
+     * fue escrita dentro de la ventana, y en el destino habitual si no.
+     */
+    public <T> T leer(Object clave, Supplier<T> lectura) {
+        if (activa && clave != null && claves.getIfPresent(clave) != null) {
+            return RuteoLecturaDataSource.enPrimaria(lectura);
+        }
+        return lectura.get();
+    }
+
+    private void registrarAhora(UUID id, String... identificaciones) {
+        if (id != null) {
+            claves.put(id, Boolean.TRUE);
+        }
+        for (String identificacion : identificaciones) {
+            if (identificacion != null) {
+                claves.put(identificacion, Boolean.TRUE);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ec.fin.coacandes.socios.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Envía las conexiones de las transacciones de solo lectura a la réplica y el
+ * resto (escrituras, transacciones normales y código sin transacción) a la primaria.
+ *
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy: el gestor de
+ * transacciones pide la conexión al iniciar la transacción, antes de marcarla
+ * como readOnly, y el proxy retrasa la elección hasta la primera sentencia.
+ */
+public class RuteoLecturaDataSource extends AbstractRoutingDataSource {
+
+    enum Destino { PRIMARIA, REPLICA }
+
+    private static final ThreadLocal<Boolean> FORZAR_PRIMARIA = new ThreadLocal<>();
+
+    public RuteoLecturaDataSource(DataSource primaria, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        afterPropertiesSet();
+    }
+
+    /**
+     * Ejecuta {@code lectura} contra la primaria aunque la transacción sea de solo
+     * lectura. Solo surte efecto si la transacción aún no ha ejecutado sentencias,
+     * porque después la conexión ya está elegida.
+     */
+    public static <T> T enPrimaria(Supplier<T> lectura) {
+        if (FORZAR_PRIMARIA.get() != null) {
+            return lectura.get();
+        }
+        FORZAR_PRIMARIA.set(Boolean.TRUE);
+        try {
+            return lectura.get();
+        } finally {
+            FORZAR_PRIMARIA.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && FORZAR_PRIMARIA.get() == null
+                ? Destino.REPLICA
+                : Destino.PRIMARIA;
+    }
+}
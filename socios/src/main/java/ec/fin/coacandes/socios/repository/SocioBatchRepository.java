@@ -0,0 +1,125 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.entity.Socio;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Inserciones de socios con JDBC. Los IDs se asignan en la aplicación para que
+ * el driver pueda agrupar los INSERT (reWriteBatchedInserts) y para que el alta
+ * individual sea una sola sentencia.
+ *
+ * Al no ser un repositorio de Spring Data, sus tiempos se publican aparte en
+ * socios.repositorio.jdbc (tag method).
+ */
+@Repository
+@RequiredArgsConstructor
+@Timed(value = "socios.repositorio.jdbc", description = "Sentencias JDBC de SocioBatchRepository", histogram = true)
+public class SocioBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO socios (id, identificacion, nombres, apellidos, email, telefono, direccion, " +
+                    "activo, tipo_identificacion, fecha_creacion, fecha_actualizacion) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_SI_NO_EXISTE_SQL = INSERT_SQL + " ON CONFLICT DO NOTHING";
+
+    private static final String SELECT_IDS_SQL = "SELECT id FROM socios WHERE id = ANY(?)";
+
+    private static final String SELECT_UNICIDAD_SQL = "SELECT identificacion, email FROM socios";
+
+    private static final int FETCH_SIZE_UNICIDAD = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserta el lote con ON CONFLICT DO NOTHING: un socio cuya identificación o
+     * email escribió otra operación después de la comprobación de unicidad se
+     * omite en lugar de abortar el lote.
+     *
+     * @return IDs de los socios que no se insertaron por conflicto
+     */
+    public Set<UUID> insertarLoteSiNoExisten(List<Socio> socios) {
+        int[][] conteos = jdbcTemplate.batchUpdate(INSERT_SI_NO_EXISTE_SQL, socios, socios.size(),
+                SocioBatchRepository::asignarParametros);
+        Set<UUID> omitidos = new HashSet<>();
+        List<UUID> sinConteo = new ArrayList<>();
+        int i = 0;
+        for (int[] lote : conteos) {
+            for (int conteo : lote) {
+                UUID id = socios.get(i++).getId();
+                if (conteo == Statement.SUCCESS_NO_INFO) {
+                    sinConteo.add(id);
+                } else if (conteo == 0) {
+                    omitidos.add(id);
+                }
+            }
+        }
+        if (!sinConteo.isEmpty()) {
+            // Con reWriteBatchedInserts el driver agrupa las filas en un INSERT y no
+            // informa el conteo de cada una. Los IDs los asigna la aplicación: los que
+            // no están en la tabla son los omitidos
+            Set<UUID> insertados = new HashSet<>(jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(SELECT_IDS_SQL);
+                ps.setArray(1, con.createArrayOf("uuid", sinConteo.toArray()));
+                return ps;
+            }, (rs, fila) -> rs.getObject(1, UUID.class)));
+            for (UUID id : sinConteo) {
+                if (!insertados.contains(id)) {
+                    omitidos.add(id);
+                }
+            }
+        }
+        return omitidos;
+    }
+
+    /**
+     * Inserta el socio en un solo viaje a la BD, apoyándose en las restricciones
+     * únicas de identificación y email en lugar de consultar antes.
+     *
+     * @return false si ya existe un socio con la misma identificación o email
+     */
+    public boolean insertarSiNoExiste(Socio socio) {
+        return jdbcTemplate.update(INSERT_SI_NO_EXISTE_SQL, ps -> asignarParametros(ps, socio)) == 1;
+    }
+
+    /**
+     * Recorre identificación y email de todos los socios (activos o no) sobre un
+     * cursor JDBC. Debe ejecutarse dentro de una transacción para que el driver de
+     * PostgreSQL respete el fetch size en lugar de cargar la tabla en memoria.
+     */
+    public void recorrerIdentificacionesYEmails(BiConsumer<String, String> consumidor) {
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_UNICIDAD_SQL);
+            ps.setFetchSize(FETCH_SIZE_UNICIDAD);
+            return ps;
+        }, (RowCallbackHandler) rs -> consumidor.accept(rs.getString(1), rs.getString(2)));
+    }
+
+    private static void asignarParametros(PreparedStatement ps, Socio socio) throws SQLException {
+        ps.setObject(1, socio.getId());
+        ps.setString(2, socio.getIdentificacion());
+        ps.setString(3, socio.getNombres());
+        ps.setString(4, socio.getApellidos());
+        ps.setString(5, socio.getEmail());
+        ps.setString(6, socio.getTelefono());
+        ps.setString(7, socio.getDireccion());
+        ps.setBoolean(8, socio.getActivo());
+        ps.setString(9, socio.getTipoIdentificacion());
+        ps.setObject(10, socio.getFechaCreacion());
+        ps.setObject(11, socio.getFechaActualizacion());
+    }
+}
@@ -1,18 +1,97 @@
 package ec.fin.coacandes.socios.repository;
 
 import ec.fin.coacandes.socios.entity.Socio;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface SocioRepository extends JpaRepository<Socio, UUID> {
+public interface SocioRepository extends JpaRepository<Socio, UUID>, JpaSpecificationExecutor<Socio> {
 
     Optional<Socio> findByIdentificacion(String identificacion);
 
     boolean existsByIdentificacion(String identificacion);
 
     Optional<Socio> findByIdAndActivoTrue(UUID id);
+
+    /**
+     * Socios activos en orden de creación, como entidades o como proyección
+     * (p. ej. SocioResumen, que solo selecciona sus columnas)
+     */
+    <T> List<T> findByActivoTrueOrderByFechaCreacionAscIdAsc(Class<T> tipo);
+
+    <T> List<T> findAllByOrderByFechaCreacionAscIdAsc(Class<T> tipo);
+
+    /**
+     * Baja lógica. Solo afecta a socios activos, por lo que devuelve 0 si otra
+     * petición ya lo desactivó. Sube la versión como cualquier otra modificación.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Socio s SET s.activo = false, s.fechaActualizacion = :fecha, s.version = s.version + 1 " +
+            "WHERE s.id = :id AND s.activo = true")
+    int desactivar(@Param("id") UUID id, @Param("fecha") LocalDateTime fecha);
+
+    @Query("SELECT s.identificacion FROM Socio s WHERE s.identificacion IN :identificaciones")
+    List<String> findIdentificacionesExistentes(@Param("identificaciones") Collection<String> identificaciones);
+
+    @Query("SELECT s.email FROM Socio s WHERE s.email IN :emails")
+    List<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    /**
+     * Primera página del recorrido por cursor (keyset) ordenado por (fecha_creacion, id)
+     */
+    @Query("SELECT s FROM Socio s ORDER BY s.fechaCreacion ASC, s.id ASC")
+    List<Socio> findPrimeraPagina(Limit limit);
+
+    /**
+     * Página siguiente al cursor (fechaCreacion, id). Usa comparación de filas para
+     * que PostgreSQL recorra directamente el índice idx_socios_fecha_creacion_id.
+     */
+    @Query(value = "SELECT * FROM socios WHERE (fecha_creacion, id) > (:fechaCreacion, :id) " +
+            "ORDER BY fecha_creacion ASC, id ASC", nativeQuery = true)
+    List<Socio> findPaginaDespuesDe(@Param("fechaCreacion") LocalDateTime fechaCreacion,
+                                    @Param("id") UUID id,
+                                    Limit limit);
+
+    /**
+     * Como findPrimeraPagina pero solo socios activos (índice parcial
+     * idx_socios_activos_fecha_creacion_id)
+     */
+    @Query("SELECT s FROM Socio s WHERE s.activo = true ORDER BY s.fechaCreacion ASC, s.id ASC")
+    List<Socio> findPrimeraPaginaActivos(Limit limit);
+
+    /**
+     * Como findPaginaDespuesDe pero solo socios activos. La condición activo = true
+     * debe coincidir con el predicado del índice parcial para que el planificador lo use.
+     */
+    @Query(value = "SELECT * FROM socios WHERE activo = true AND (fecha_creacion, id) > (:fechaCreacion, :id) " +
+            "ORDER BY fecha_creacion ASC, id ASC", nativeQuery = true)
+    List<Socio> findPaginaActivosDespuesDe(@Param("fechaCreacion") LocalDateTime fechaCreacion,
+                                           @Param("id") UUID id,
+                                           Limit limit);
+
+    /**
+     * Recorre todos los socios sobre un cursor JDBC. Debe consumirse dentro de una
+     * transacción para que el driver de PostgreSQL respete el fetch size.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT s FROM Socio s ORDER BY s.fechaCreacion ASC, s.id ASC")
+    Stream<Socio> streamTodosOrdenados();
 }
@@ -0,0 +1,33 @@
+package ec.fin.coacandes.socios.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección cerrada para listados y búsquedas: Spring Data selecciona solo estas
+ * columnas (sin direccion ni fecha de creación) y no instancia entidades Socio ni
+ * las registra en el contexto de persistencia. version alimenta el ETag de los
+ * listados.
+ */
+public interface SocioResumen {
+
+    UUID getId();
+
+    String getIdentificacion();
+
+    String getTipoIdentificacion();
+
+    String getNombres();
+
+    String getApellidos();
+
+    String getEmail();
+
+    String getTelefono();
+
+    Boolean getActivo();
+
+    LocalDateTime getFechaActualizacion();
+
+    Long getVersion();
+}
@@ -0,0 +1,56 @@
+package ec.fin.coacandes.socios.repository;
+
+import ec.fin.coacandes.socios.dto.SocioFiltroDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Criterios de búsqueda de socios. Los filtros de texto usan lower(columna), que
+ * coincide con los índices funcionales de V2__indices_busqueda_socios.sql.
+ */
+public final class SocioSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private SocioSpecifications() {
+    }
+
+    public static Specification<Socio> conFiltro(SocioFiltroDTO filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            if (tieneTexto(filtro.getNombres())) {
+                predicados.add(cb.like(cb.lower(root.get("nombres")), prefijo(filtro.getNombres()), ESCAPE));
+            }
+            if (tieneTexto(filtro.getApellidos())) {
+                predicados.add(cb.like(cb.lower(root.get("apellidos")), prefijo(filtro.getApellidos()), ESCAPE));
+            }
+            if (tieneTexto(filtro.getEmail())) {
+                predicados.add(cb.equal(cb.lower(root.get("email")), filtro.getEmail().trim().toLowerCase(Locale.ROOT)));
+            }
+            if (tieneTexto(filtro.getTipoIdentificacion())) {
+                predicados.add(cb.equal(root.get("tipoIdentificacion"), filtro.getTipoIdentificacion()));
+            }
+            if (filtro.getActivo() != null) {
+                predicados.add(cb.equal(root.get("activo"), filtro.getActivo()));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    private static boolean tieneTexto(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+
+    private static String prefijo(String valor) {
+        String escapado = valor.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escapado + "%";
+    }
+}
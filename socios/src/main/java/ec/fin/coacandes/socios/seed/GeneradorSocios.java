@@ -0,0 +1,102 @@
+package ec.fin.coacandes.socios.seed;
+
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Genera filas sintéticas de socios en formato CSV para COPY.
+ *
+ * La identificación y el email se derivan del número de secuencia, por lo que
+ * son únicos por construcción; el resto de campos sale de un generador
+ * aleatorio propio de cada hilo. Las cédulas generadas tienen dígito
+ * verificador módulo 10 válido.
+ */
+class GeneradorSocios {
+
+    /** Cédulas distintas posibles: 24 provincias × 6 valores del tercer dígito × 10^6 */
+    static final long CAPACIDAD = 24L * 6 * 1_000_000;
+
+    private static final String[] NOMBRES_HOMBRES = {"Carlos", "Luis", "Pedro", "Javier", "Miguel", "Andrés", "José", "David"};
+    private static final String[] NOMBRES_MUJERES = {"Ana", "María", "Laura", "Sofía", "Carmen", "Patricia", "Elena", "Isabel"};
+    private static final String[] SEGUNDOS_NOMBRES = {"Antonio", "Alberto", "Esteban", "Alejandra", "Cristina", "Lucía"};
+    private static final String[] APELLIDOS = {"García", "Rodríguez", "López", "Martínez", "Sánchez", "Pérez",
+            "González", "Fernández", "Díaz", "Torres", "Ramírez", "Castro", "Vargas", "Moreno", "Romero", "Navarro"};
+
+    private final SplittableRandom random;
+    private final String fechaCreacion;
+
+    GeneradorSocios(SplittableRandom random, String fechaCreacion) {
+        this.random = random;
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    /**
+     * Agrega al buffer la fila CSV del socio con número de secuencia {@code n}:
+     * id, identificacion, nombres, apellidos, email, telefono, direccion, activo,
+     * tipo_identificacion, fecha_creacion, fecha_actualizacion
+     */
+    void agregarFila(long n, StringBuilder csv) {
+        boolean esHombre = random.nextBoolean();
+        String nombre = esHombre
+                ? NOMBRES_HOMBRES[random.nextInt(NOMBRES_HOMBRES.length)]
+                : NOMBRES_MUJERES[random.nextInt(NOMBRES_MUJERES.length)];
+
+        csv.append(new UUID(random.nextLong(), random.nextLong()).toString()).append(',')
+                .append(cedula(n)).append(',')
+                .append(nombre).append(' ').append(SEGUNDOS_NOMBRES[random.nextInt(SEGUNDOS_NOMBRES.length)]).append(',')
+                .append(APELLIDOS[random.nextInt(APELLIDOS.length)]).append(' ')
+                .append(APELLIDOS[random.nextInt(APELLIDOS.length)]).append(',')
+                .append("socio").append(n).append(SembradorSocios.DOMINIO_EMAIL).append(',')
+                .append("09");
+        agregarConCeros(csv, random.nextInt(100_000_000), 8);
+        csv.append(',')
+                .append("Calle ").append(random.nextInt(100) + 1)
+                .append(" y Av. ").append((char) ('A' + random.nextInt(26))).append(',')
+                .append(random.nextInt(10) != 0).append(',')
+                .append("CEDULA").append(',')
+                .append(fechaCreacion).append(',')
+                .append(fechaCreacion).append('\n');
+    }
+
+    /**
+     * Cédula ecuatoriana válida para el número de secuencia {@code n}
+     * (0 <= n < {@link #CAPACIDAD}).
+     */
+    static String cedula(long n) {
+        int provincia = (int) (n % 24) + 1;
+        long resto = n / 24;
+        int tercerDigito = (int) (resto % 6);
+        long secuencial = resto / 6;
+
+        char[] digitos = new char[10];
+        digitos[0] = (char) ('0' + provincia / 10);
+        digitos[1] = (char) ('0' + provincia % 10);
+        digitos[2] = (char) ('0' + tercerDigito);
+        for (int i = 8; i >= 3; i--) {
+            digitos[i] = (char) ('0' + secuencial % 10);
+            secuencial /= 10;
+        }
+
+        int suma = 0;
+        for (int i = 0; i < 9; i++) {
+            int valor = digitos[i] - '0';
+            if (i % 2 == 0) {
+                valor *= 2;
+                if (valor > 9) {
+                    valor -= 9;
+                }
+            }
+            suma += valor;
+        }
+        digitos[9] = (char) ('0' + (10 - suma % 10) % 10);
+        return new String(digitos);
+    }
+
+    private static void agregarConCeros(StringBuilder csv, int valor, int ancho) {
+        String texto = Integer.toString(valor);
+        for (int i = texto.length(); i < ancho; i++) {
+            csv.append('0');
+        }
+        csv.append(texto);
+    }
+}
@@ -0,0 +1,170 @@
+package ec.fin.coacandes.socios.seed;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carga masiva de socios sintéticos para pruebas de capacidad.
+ *
+ * Se activa con el perfil {@code seed}, ya sea junto al servicio o como comando
+ * independiente ({@code --spring.profiles.active=seed}, sin servidor web). Cada
+ * hilo toma lotes de números de secuencia disjuntos, genera las filas con su
+ * propio {@link SplittableRandom} y las envía con COPY a una tabla temporal,
+ * desde donde pasan a {@code socios} con {@code ON CONFLICT DO NOTHING}.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class SembradorSocios implements ApplicationRunner {
+
+    static final String DOMINIO_EMAIL = "@seed.cooperativa.com.ec";
+
+    private static final String COLUMNAS = "id, identificacion, nombres, apellidos, email, telefono, " +
+            "direccion, activo, tipo_identificacion, fecha_creacion, fecha_actualizacion";
+
+    private static final String CREAR_STAGING = "CREATE TEMP TABLE IF NOT EXISTS socios_staging " +
+            "(LIKE socios INCLUDING DEFAULTS) ON COMMIT DELETE ROWS";
+
+    private static final String COPY_STAGING = "COPY socios_staging (" + COLUMNAS + ") FROM STDIN WITH (FORMAT csv)";
+
+    private static final String MOVER_STAGING = "INSERT INTO socios (" + COLUMNAS + ") " +
+            "SELECT " + COLUMNAS + " FROM socios_staging ON CONFLICT DO NOTHING";
+
+    private static final String CONTAR_SEMBRADOS =
+            "SELECT count(*) FROM socios WHERE email LIKE 'socio%" + DOMINIO_EMAIL + "'";
+
+    private final DataSource dataSource;
+    private final long cantidad;
+    private final int hilos;
+    private final int tamanioLote;
+    private final long semilla;
+
+    public SembradorSocios(DataSource dataSource,
+                           @Value("${socios.seed.cantidad:1000000}") long cantidad,
+                           @Value("${socios.seed.hilos:0}") int hilos,
+                           @Value("${socios.seed.lote:10000}") int tamanioLote,
+                           @Value("${socios.seed.semilla:0}") long semilla) {
+        this.dataSource = dataSource;
+        this.cantidad = cantidad;
+        this.hilos = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        this.tamanioLote = tamanioLote;
+        this.semilla = semilla != 0 ? semilla : System.nanoTime();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // Las ejecuciones previas ocupan las secuencias [0, inicio); se continúa desde ahí
+        long inicio = contarSembrados();
+        long fin = inicio + cantidad;
+        if (fin > GeneradorSocios.CAPACIDAD) {
+            throw new IllegalStateException("La cantidad solicitada supera las " +
+                    GeneradorSocios.CAPACIDAD + " cédulas distintas que puede generar el sembrador");
+        }
+
+        log.info("🌱 Sembrando {} socios (secuencias {}..{}) con {} hilos y lotes de {}",
+                cantidad, inicio, fin - 1, hilos, tamanioLote);
+
+        String fechaCreacion = LocalDateTime.now().toString();
+        AtomicLong siguiente = new AtomicLong(inicio);
+        AtomicLong insertados = new AtomicLong();
+        AtomicLong omitidos = new AtomicLong();
+        long t0 = System.nanoTime();
+
+        // split() no es seguro entre hilos: cada generador se deriva aquí, antes de lanzar los hilos
+        SplittableRandom raiz = new SplittableRandom(semilla);
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<?>> tareas = new ArrayList<>(hilos);
+            for (int i = 0; i < hilos; i++) {
+                GeneradorSocios generador = new GeneradorSocios(raiz.split(), fechaCreacion);
+                tareas.add(executor.submit(() -> {
+                    sembrar(generador, siguiente, fin, insertados, omitidos, t0);
+                    return null;
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double segundos = (System.nanoTime() - t0) / 1e9;
+        log.info("✅ Siembra completada: {} insertados, {} omitidos por duplicado en {} s ({} filas/s)",
+                insertados.get(), omitidos.get(), String.format("%.1f", segundos),
+                Math.round(insertados.get() / segundos));
+    }
+
+    private void sembrar(GeneradorSocios generador, AtomicLong siguiente, long fin,
+                         AtomicLong insertados, AtomicLong omitidos, long t0) throws SQLException, IOException {
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.setAutoCommit(false);
+            CopyManager copia = conexion.unwrap(PGConnection.class).getCopyAPI();
+
+            try (Statement statement = conexion.createStatement()) {
+                statement.execute(CREAR_STAGING);
+                conexion.commit();
+
+                StringBuilder csv = new StringBuilder(tamanioLote * 160);
+                long desde;
+                while ((desde = siguiente.getAndAdd(tamanioLote)) < fin) {
+                    long hasta = Math.min(desde + tamanioLote, fin);
+                    csv.setLength(0);
+                    for (long n = desde; n < hasta; n++) {
+                        generador.agregarFila(n, csv);
+                    }
+
+                    copia.copyIn(COPY_STAGING, new StringReader(csv.toString()));
+                    int filas = statement.executeUpdate(MOVER_STAGING);
+                    conexion.commit();
+
+                    long total = insertados.addAndGet(filas);
+                    omitidos.addAndGet((hasta - desde) - filas);
+                    reportarProgreso(total, hasta - desde, t0);
+                }
+            } catch (SQLException | IOException e) {
+                conexion.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private void reportarProgreso(long total, long ultimoLote, long t0) {
+        // Un mensaje cada ~10 lotes para no saturar el log
+        if (total % (tamanioLote * 10L) < ultimoLote) {
+            double segundos = (System.nanoTime() - t0) / 1e9;
+            log.info("🌱 {} / {} socios ({} filas/s)", total, cantidad, Math.round(total / segundos));
+        }
+    }
+
+    private long contarSembrados() throws SQLException {
+        try (Connection conexion = dataSource.getConnection();
+             Statement statement = conexion.createStatement();
+             ResultSet rs = statement.executeQuery(CONTAR_SEMBRADOS)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
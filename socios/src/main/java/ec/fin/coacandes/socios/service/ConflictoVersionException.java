@@ -0,0 +1,19 @@
+package ec.fin.coacandes.socios.service;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import lombok.Getter;
+
+/**
+ * El socio cambió desde la versión que el cliente leyó. Lleva la representación
+ * vigente para que el cliente pueda reaplicar su cambio sin volver a consultarla.
+ */
+@Getter
+public class ConflictoVersionException extends RuntimeException {
+
+    private final SocioResponseDTO actual;
+
+    public ConflictoVersionException(SocioResponseDTO actual) {
+        super("El socio fue modificado por otra operación (versión vigente " + actual.getVersion() + ")");
+        this.actual = actual;
+    }
+}
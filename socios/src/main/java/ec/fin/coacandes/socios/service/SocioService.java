@@ -1,21 +1,51 @@
 package ec.fin.coacandes.socios.service;
 
+import ec.fin.coacandes.socios.dto.ImportacionResultadoDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasPaginaDTO;
+import ec.fin.coacandes.socios.dto.SocioBusquedaDTO;
+import ec.fin.coacandes.socios.dto.SocioFiltroDTO;
+import ec.fin.coacandes.socios.dto.SocioPaginaDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
 
+import org.springframework.data.domain.Pageable;
+
+import java.io.Reader;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface SocioService {
     SocioResponseDTO crearSocio(SocioRequestDTO request);
 
-    SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request);
+    /**
+     * @param versionEsperada versión que el cliente modificó (If-Match), o null para
+     *                        no comprobarla; aun así, una actualización concurrente
+     *                        produce ConflictoVersionException
+     */
+    SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request, Long versionEsperada);
 
     SocioResponseDTO obtenerSocioPorId(UUID id);
 
-    List<SocioResponseDTO> obtenerTodosLosSocios();
+    List<SocioResumenDTO> obtenerTodosLosSocios(boolean incluirInactivos);
+
+    SocioPaginaDTO obtenerPaginaSocios(String cursor, int tamanio, boolean incluirInactivos);
+
+    SocioConCuentasDTO obtenerSocioConCuentas(UUID id);
+
+    SocioConCuentasPaginaDTO obtenerPaginaSociosConCuentas(String cursor, int tamanio, boolean incluirInactivos);
+
+    void exportarSocios(Consumer<SocioResponseDTO> consumidor);
+
+    SocioBusquedaDTO buscarSocios(SocioFiltroDTO filtro, Pageable pageable);
 
     void eliminarSocio(UUID id);
 
-    SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion);
+    SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion, boolean incluirInactivos);
+
+    ImportacionResultadoDTO importarSocios(Iterable<SocioRequestDTO> socios);
+
+    ImportacionResultadoDTO importarSociosCsv(Reader csv);
 }
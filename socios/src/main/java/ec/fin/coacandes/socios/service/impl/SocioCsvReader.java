@@ -0,0 +1,129 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee socios desde CSV fila por fila, sin cargar el archivo completo en memoria.
+ * La primera línea es la cabecera con los nombres de los campos de
+ * {@link SocioRequestDTO}, en cualquier orden. Admite campos entre comillas dobles.
+ */
+class SocioCsvReader implements Iterable<SocioRequestDTO> {
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columnas = new HashMap<>();
+
+    SocioCsvReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        String cabecera = leerLinea();
+        if (cabecera == null) {
+            throw new IllegalArgumentException("El archivo CSV está vacío");
+        }
+        List<String> nombres = separar(cabecera);
+        for (int i = 0; i < nombres.size(); i++) {
+            columnas.put(nombres.get(i).trim(), i);
+        }
+        if (!columnas.containsKey("identificacion")) {
+            throw new IllegalArgumentException("La cabecera CSV debe incluir la columna 'identificacion'");
+        }
+    }
+
+    @Override
+    public Iterator<SocioRequestDTO> iterator() {
+        return new Iterator<>() {
+            private String siguiente = avanzar();
+
+            @Override
+            public boolean hasNext() {
+                return siguiente != null;
+            }
+
+            @Override
+            public SocioRequestDTO next() {
+                if (siguiente == null) {
+                    throw new NoSuchElementException();
+                }
+                SocioRequestDTO request = convertir(separar(siguiente));
+                siguiente = avanzar();
+                return request;
+            }
+        };
+    }
+
+    private String avanzar() {
+        String linea;
+        do {
+            linea = leerLinea();
+        } while (linea != null && linea.isBlank());
+        return linea;
+    }
+
+    private String leerLinea() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private SocioRequestDTO convertir(List<String> valores) {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion(valor(valores, "identificacion"));
+        request.setNombres(valor(valores, "nombres"));
+        request.setApellidos(valor(valores, "apellidos"));
+        request.setEmail(valor(valores, "email"));
+        request.setTelefono(valor(valores, "telefono"));
+        request.setDireccion(valor(valores, "direccion"));
+        request.setTipoIdentificacion(valor(valores, "tipoIdentificacion"));
+        String activo = valor(valores, "activo");
+        request.setActivo(activo == null ? null : Boolean.valueOf(activo));
+        return request;
+    }
+
+    private String valor(List<String> valores, String columna) {
+        Integer indice = columnas.get(columna);
+        if (indice == null || indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    static List<String> separar(String linea) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char c = linea.charAt(i);
+            if (entreComillas) {
+                if (c == '"' && i + 1 < linea.length() && linea.charAt(i + 1) == '"') {
+                    actual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreComillas = false;
+                } else {
+                    actual.append(c);
+                }
+            } else if (c == '"') {
+                entreComillas = true;
+            } else if (c == ',') {
+                campos.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(c);
+            }
+        }
+        campos.add(actual.toString());
+        return campos;
+    }
+}
@@ -0,0 +1,43 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.entity.Socio;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posición de la paginación por cursor: el par (fechaCreacion, id) del último socio
+ * entregado, serializado como texto opaco en Base64 URL-safe.
+ */
+record SocioCursor(LocalDateTime fechaCreacion, UUID id) {
+
+    private static final char SEPARADOR = '_';
+
+    static SocioCursor desde(Socio socio) {
+        return new SocioCursor(socio.getFechaCreacion(), socio.getId());
+    }
+
+    String codificar() {
+        String valor = fechaCreacion.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SocioCursor decodificar(String cursor) {
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = valor.lastIndexOf(SEPARADOR);
+            if (separador < 0) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            return new SocioCursor(
+                    LocalDateTime.parse(valor.substring(0, separador)),
+                    UUID.fromString(valor.substring(separador + 1)));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", e);
+        }
+    }
+}
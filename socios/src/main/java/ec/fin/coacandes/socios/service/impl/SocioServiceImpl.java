@@ -1,86 +1,351 @@
 package ec.fin.coacandes.socios.service.impl;
 
-import ec.fin.coacandes.socios.client.CuentasClient;
+import ec.fin.coacandes.socios.cache.SocioCache;
+import ec.fin.coacandes.socios.client.CuentaDto;
+import ec.fin.coacandes.socios.client.CuentasAsyncClient;
+import ec.fin.coacandes.socios.dto.FilaImportacionDTO;
+import ec.fin.coacandes.socios.dto.ImportacionResultadoDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasPaginaDTO;
+import ec.fin.coacandes.socios.dto.SocioBusquedaDTO;
+import ec.fin.coacandes.socios.dto.SocioFiltroDTO;
+import ec.fin.coacandes.socios.dto.SocioPaginaDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
 import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.outbox.SocioEventoTipo;
+import ec.fin.coacandes.socios.outbox.SocioOutbox;
+import ec.fin.coacandes.socios.replica.EscriturasRecientes;
+import ec.fin.coacandes.socios.repository.SocioBatchRepository;
 import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.repository.SocioResumen;
+import ec.fin.coacandes.socios.repository.SocioSpecifications;
+import ec.fin.coacandes.socios.service.ConflictoVersionException;
 import ec.fin.coacandes.socios.service.SocioService;
+import ec.fin.coacandes.socios.unicidad.FiltroUnicidadSocios;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.modelmapper.ModelMapper;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * Cada operación publica el timer socios.servicio con los tags method
+ * (operación) y exception ("none" si terminó bien).
+ *
+ * Por defecto las operaciones son de solo lectura: Hibernate no guarda la copia
+ * de cada entidad para el dirty checking ni hace flush, y con réplica configurada
+ * se ejecutan en ella. Las escrituras declaran su propia transacción.
+ */
 @Service
 @RequiredArgsConstructor
-@Transactional
+@Transactional(readOnly = true)
+@Timed(value = "socios.servicio", description = "Operaciones de SocioService", histogram = true)
 @Slf4j
 public class SocioServiceImpl implements SocioService {
 
+    static final int TAMANIO_PAGINA_MAXIMO = 500;
+    static final int TAMANIO_LOTE_IMPORTACION = 500;
+    static final Set<String> CAMPOS_ORDENABLES =
+            Set.of("nombres", "apellidos", "identificacion", "email", "fechaCreacion");
+    /** SQLState estándar de unique_violation (PostgreSQL y H2) */
+    private static final String VIOLACION_UNICIDAD = "23505";
+    private static final String RESTRICCION_EMAIL = "uk_socios_email";
+
     private final SocioRepository socioRepository;
-    private final ModelMapper modelMapper;
-    private final CuentasClient cuentasClient;
+    private final SocioMapper socioMapper;
+    private final CuentasAsyncClient cuentasAsyncClient;
+    private final EntityManager entityManager;
+    private final SocioCache socioCache;
+    private final SocioBatchRepository socioBatchRepository;
+    private final Validator validator;
+    private final SocioOutbox socioOutbox;
+    private final TransactionTemplate transactionTemplate;
+    private final EscriturasRecientes escriturasRecientes;
+    private final FiltroUnicidadSocios filtroUnicidad;
+
+    /** Espera máxima por las cuentas en las lecturas agregadas antes de responder sin ellas */
+    @Value("${socios.agregado.espera-cuentas-ms:1500}")
+    private long esperaCuentasMs;
+
+    /** Consultas simultáneas a Cuentas por cada página agregada */
+    @Value("${socios.agregado.paralelismo:8}")
+    private int paralelismoAgregado;
 
     @Override
+    @Transactional
     public SocioResponseDTO crearSocio(SocioRequestDTO request) {
-        // Validar identificación única
-        if (socioRepository.existsByIdentificacion(request.getIdentificacion())) {
-            throw new IllegalArgumentException("Ya existe un socio con esta identificación");
-        }
+        Socio socio = socioMapper.toEntity(request);
+        LocalDateTime ahora = LocalDateTime.now();
+        socio.setId(UUID.randomUUID());
+        socio.setActivo(Objects.requireNonNullElse(request.getActivo(), Boolean.TRUE));
+        socio.setFechaCreacion(ahora);
+        socio.setFechaActualizacion(ahora);
+        socio.setVersion(0L);
 
-        Socio socio = modelMapper.map(request, Socio.class);
+        // Un solo INSERT ... ON CONFLICT DO NOTHING: la unicidad la garantizan las
+        // restricciones de la BD, también con peticiones concurrentes
+        filtroUnicidad.agregar(socio.getIdentificacion(), socio.getEmail());
+        if (!socioBatchRepository.insertarSiNoExiste(socio)) {
+            // Solo en caso de conflicto se consulta cuál restricción se violó
+            if (socioRepository.existsByIdentificacion(request.getIdentificacion())) {
+                throw new IllegalArgumentException("Ya existe un socio con esta identificación");
+            }
+            throw new IllegalArgumentException("Ya existe un socio con este email");
+        }
 
-        Socio guardado = socioRepository.save(socio);
-        return modelMapper.map(guardado, SocioResponseDTO.class);
+        SocioResponseDTO creado = socioMapper.toResponse(socio);
+        socioOutbox.registrar(SocioEventoTipo.CREADO, creado);
+        socioCache.invalidar(socio.getId(), socio.getIdentificacion());
+        escriturasRecientes.registrar(socio.getId(), socio.getIdentificacion());
+        return creado;
     }
 
+    /**
+     * Bloqueo optimista con la columna version: si {@code versionEsperada} (If-Match)
+     * no es la actual, o si otra transacción actualiza el socio entre la lectura y el
+     * flush, se lanza ConflictoVersionException con el socio vigente en lugar de
+     * sobrescribir el cambio ajeno. Sin transacción propia para poder leer ese
+     * socio vigente después de revertir la que falló.
+     */
     @Override
-    public SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SocioResponseDTO actualizarSocio(UUID id, SocioRequestDTO request, Long versionEsperada) {
+        try {
+            return transactionTemplate.execute(estado -> actualizarEnTransaccion(id, request, versionEsperada));
+        } catch (OptimisticLockingFailureException e) {
+            log.info("Actualización concurrente del socio {}, se responde con la versión vigente", id);
+            // Transacción de lectura-escritura: se lee de la primaria, no de la caché ni de la réplica
+            throw new ConflictoVersionException(transactionTemplate.execute(estado -> socioRepository.findById(id)
+                    .map(socioMapper::toResponse)
+                    .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"))));
+        }
+    }
+
+    private SocioResponseDTO actualizarEnTransaccion(UUID id, SocioRequestDTO request, Long versionEsperada) {
         Socio socio = socioRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
-
-        // Validar si cambia la identificación
-        if (!socio.getIdentificacion().equals(request.getIdentificacion()) &&
-                socioRepository.existsByIdentificacion(request.getIdentificacion())) {
-            throw new IllegalArgumentException("La nueva identificación ya está registrada");
+        if (versionEsperada != null && !versionEsperada.equals(socio.getVersion())) {
+            throw new ConflictoVersionException(socioMapper.toResponse(socio));
         }
 
-        modelMapper.map(request, socio);
+        String identificacionAnterior = socio.getIdentificacion();
+        Boolean activoAnterior = socio.getActivo();
+        socioMapper.actualizar(request, socio);
+        // Como en crearSocio, activo es opcional: sin valor se conserva el actual
+        if (request.getActivo() == null) {
+            socio.setActivo(activoAnterior);
+        }
 
-        Socio actualizado = socioRepository.save(socio);
-        return modelMapper.map(actualizado, SocioResponseDTO.class);
+        // La unicidad de identificación y email la valida la BD al hacer flush
+        filtroUnicidad.agregar(socio.getIdentificacion(), socio.getEmail());
+        Socio actualizado;
+        try {
+            actualizado = socioRepository.saveAndFlush(socio);
+        } catch (DataIntegrityViolationException e) {
+            // Solo las violaciones de unicidad son un dato repetido; el resto se propaga
+            ConstraintViolationException unicidad = violacionDeUnicidad(e);
+            if (unicidad == null) {
+                throw e;
+            }
+            throw new IllegalArgumentException(esConflictoDeEmail(unicidad)
+                    ? "El nuevo email ya está registrado"
+                    : "La nueva identificación ya está registrada", e);
+        }
+        SocioResponseDTO respuesta = socioMapper.toResponse(actualizado);
+        socioOutbox.registrar(tipoEventoActualizacion(activoAnterior, actualizado.getActivo()), respuesta);
+        socioCache.invalidar(id, identificacionAnterior, actualizado.getIdentificacion());
+        escriturasRecientes.registrar(id, identificacionAnterior, actualizado.getIdentificacion());
+        return respuesta;
     }
 
+    /**
+     * Las lecturas readOnly van a la réplica si está configurada, salvo las de
+     * socios recién modificados (ver EscriturasRecientes).
+     */
     @Override
     public SocioResponseDTO obtenerSocioPorId(UUID id) {
-        Socio socio = socioRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
-        return modelMapper.map(socio, SocioResponseDTO.class);
+        return socioCache.obtenerPorId(id, clave -> escriturasRecientes.leer(clave, () -> socioRepository.findById(clave)
+                .map(socioMapper::toResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"))));
+    }
+
+    @Override
+    public List<SocioResumenDTO> obtenerTodosLosSocios(boolean incluirInactivos) {
+        // Proyección: solo las columnas del listado, sin entidades gestionadas
+        List<SocioResumen> socios = incluirInactivos
+                ? socioRepository.findAllByOrderByFechaCreacionAscIdAsc(SocioResumen.class)
+                : socioRepository.findByActivoTrueOrderByFechaCreacionAscIdAsc(SocioResumen.class);
+        return socios.stream()
+                .map(socioMapper::toResumen)
+                .collect(Collectors.toList());
     }
 
     @Override
-    public List<SocioResponseDTO> obtenerTodosLosSocios() {
-        return socioRepository.findAll().stream()
-                .map(socio -> modelMapper.map(socio, SocioResponseDTO.class))
+    public SocioPaginaDTO obtenerPaginaSocios(String cursor, int tamanio, boolean incluirInactivos) {
+        if (tamanio < 1 || tamanio > TAMANIO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException(
+                    "El tamaño de página debe estar entre 1 y " + TAMANIO_PAGINA_MAXIMO);
+        }
+
+        // Se pide un registro extra para saber si existe una página siguiente
+        Limit limite = Limit.of(tamanio + 1);
+        List<Socio> socios;
+        if (cursor == null || cursor.isBlank()) {
+            socios = incluirInactivos
+                    ? socioRepository.findPrimeraPagina(limite)
+                    : socioRepository.findPrimeraPaginaActivos(limite);
+        } else {
+            SocioCursor posicion = SocioCursor.decodificar(cursor);
+            socios = incluirInactivos
+                    ? socioRepository.findPaginaDespuesDe(posicion.fechaCreacion(), posicion.id(), limite)
+                    : socioRepository.findPaginaActivosDespuesDe(posicion.fechaCreacion(), posicion.id(), limite);
+        }
+
+        boolean hayMas = socios.size() > tamanio;
+        List<Socio> pagina = hayMas ? socios.subList(0, tamanio) : socios;
+        String siguienteCursor = hayMas ? SocioCursor.desde(pagina.get(pagina.size() - 1)).codificar() : null;
+
+        List<SocioResponseDTO> contenido = pagina.stream()
+                .map(socioMapper::toResponse)
                 .collect(Collectors.toList());
+        return new SocioPaginaDTO(contenido, siguienteCursor, hayMas);
     }
 
+    /**
+     * Sin transacción propia, como eliminarSocio: la espera por Cuentas no debe
+     * retener una conexión de BD. La consulta a Cuentas se lanza antes de leer el
+     * socio para que ambas esperas se solapen.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SocioConCuentasDTO obtenerSocioConCuentas(UUID id) {
+        long plazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaCuentasMs);
+        CompletableFuture<List<CuentaDto>> cuentas = cuentasAsyncClient.getCuentasActivasPorSocio(id.toString());
+
+        SocioResponseDTO socio;
+        try {
+            socio = obtenerSocioPorId(id);
+        } catch (RuntimeException e) {
+            cuentas.cancel(true);
+            throw e;
+        }
+        return combinarConCuentas(socio, cuentas, plazo);
+    }
+
+    /**
+     * Página por cursor (igual que obtenerPaginaSocios) con las cuentas de cada
+     * socio, consultadas con como máximo {@code socios.agregado.paralelismo}
+     * llamadas simultáneas. Los socios cuyas cuentas no llegan dentro de
+     * {@code socios.agregado.espera-cuentas-ms} se devuelven sin ellas.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SocioConCuentasPaginaDTO obtenerPaginaSociosConCuentas(String cursor, int tamanio, boolean incluirInactivos) {
+        SocioPaginaDTO pagina = obtenerPaginaSocios(cursor, tamanio, incluirInactivos);
+        long plazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaCuentasMs);
+
+        Semaphore permisos = new Semaphore(paralelismoAgregado);
+        List<CompletableFuture<List<CuentaDto>>> consultas = new ArrayList<>(pagina.getContenido().size());
+        for (SocioResponseDTO socio : pagina.getContenido()) {
+            // Sin permiso dentro del plazo la consulta no se lanza y el socio queda sin cuentas
+            CompletableFuture<List<CuentaDto>> consulta = new CompletableFuture<>();
+            if (adquirirAntesDe(permisos, plazo)) {
+                consulta = cuentasAsyncClient.getCuentasActivasPorSocio(socio.getId().toString());
+                consulta.whenComplete((cuentas, error) -> permisos.release());
+            }
+            consultas.add(consulta);
+        }
+
+        List<SocioConCuentasDTO> contenido = new ArrayList<>(consultas.size());
+        for (int i = 0; i < consultas.size(); i++) {
+            contenido.add(combinarConCuentas(pagina.getContenido().get(i), consultas.get(i), plazo));
+        }
+        boolean completa = contenido.stream().allMatch(SocioConCuentasDTO::isCuentasDisponibles);
+        return new SocioConCuentasPaginaDTO(contenido, pagina.getSiguienteCursor(), pagina.isHayMas(), completa);
+    }
+
+    @Override
+    public SocioBusquedaDTO buscarSocios(SocioFiltroDTO filtro, Pageable pageable) {
+        if (pageable.getPageSize() > TAMANIO_PAGINA_MAXIMO) {
+            throw new IllegalArgumentException("El tamaño de página no puede superar " + TAMANIO_PAGINA_MAXIMO);
+        }
+        for (Sort.Order orden : pageable.getSort()) {
+            if (!CAMPOS_ORDENABLES.contains(orden.getProperty())) {
+                throw new IllegalArgumentException("No se puede ordenar por el campo: " + orden.getProperty());
+            }
+        }
+
+        Page<SocioResumenDTO> pagina = socioRepository
+                .findBy(SocioSpecifications.conFiltro(filtro), consulta -> consulta.as(SocioResumen.class).page(pageable))
+                .map(socioMapper::toResumen);
+        return new SocioBusquedaDTO(pagina.getContent(), pagina.getNumber(), pagina.getSize(),
+                pagina.getTotalElements(), pagina.getTotalPages());
+    }
+
+    @Override
+    public void exportarSocios(Consumer<SocioResponseDTO> consumidor) {
+        try (Stream<Socio> socios = socioRepository.streamTodosOrdenados()) {
+            socios.forEach(socio -> {
+                consumidor.accept(socioMapper.toResponse(socio));
+                // Liberar la entidad del contexto de persistencia para mantener la memoria constante
+                entityManager.detach(socio);
+            });
+        }
+    }
+
+    /**
+     * Sin transacción propia: la consulta a Cuentas puede tardar hasta el timeout
+     * y no debe retener una conexión del pool de BD. La lectura y el borrado usan
+     * las transacciones cortas del repositorio.
+     *
+     * El socio se lee antes de consultar Cuentas: un DELETE de un socio inexistente
+     * o ya dado de baja no llega a llamar al microservicio.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void eliminarSocio(UUID id) {
-        Socio socio = socioRepository.findById(id)
+        // Un socio ya dado de baja se trata como inexistente
+        Socio socio = socioRepository.findByIdAndActivoTrue(id)
                 .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
 
         // ✅ VALIDACIÓN CROSS-SERVICE: Verificar que el socio no tenga cuentas activas
         log.info("Validando si el socio {} tiene cuentas activas...", id);
-
         try {
-            boolean tieneCuentas = cuentasClient.tieneCuentasActivas(id.toString());
+            boolean tieneCuentas = cuentasAsyncClient.tieneCuentasActivas(id.toString()).join();
 
             if (tieneCuentas) {
                 log.warn("Intento de eliminar socio {} que tiene cuentas activas", id);
@@ -104,14 +369,230 @@ public class SocioServiceImpl implements SocioService {
                     e);
         }
 
-        socioRepository.deleteById(id);
+        // Baja lógica: la fila se conserva con activo=false. La baja y su evento en el
+        // outbox se confirman juntos
+        transactionTemplate.executeWithoutResult(estado -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            if (socioRepository.desactivar(id, ahora) == 0) {
+                throw new EntityNotFoundException("Socio no encontrado");
+            }
+            socio.setActivo(false);
+            socio.setFechaActualizacion(ahora);
+            socio.setVersion(socio.getVersion() + 1);
+            socioOutbox.registrar(SocioEventoTipo.ELIMINADO, socioMapper.toResponse(socio));
+        });
+        socioCache.invalidar(id, socio.getIdentificacion());
+        escriturasRecientes.registrar(id, socio.getIdentificacion());
         log.info("Socio {} eliminado exitosamente", id);
     }
 
     @Override
-    public SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion) {
-        Socio socio = socioRepository.findByIdentificacion(identificacion)
-                .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"));
-        return modelMapper.map(socio, SocioResponseDTO.class);
+    public SocioResponseDTO obtenerSocioPorIdentificacion(String identificacion, boolean incluirInactivos) {
+        // La caché guarda el socio sin importar su estado; el filtro se aplica al leerla
+        SocioResponseDTO socio = socioCache.obtenerPorIdentificacion(identificacion, () -> escriturasRecientes.leer(identificacion,
+                () -> socioRepository.findByIdentificacion(identificacion)
+                        .map(socioMapper::toResponse)
+                        .orElseThrow(() -> new EntityNotFoundException("Socio no encontrado"))));
+        if (!incluirInactivos && !Boolean.TRUE.equals(socio.getActivo())) {
+            throw new EntityNotFoundException("Socio no encontrado");
+        }
+        return socio;
+    }
+
+    /**
+     * Cada lote de TAMANIO_LOTE_IMPORTACION filas se confirma en su propia
+     * transacción, junto con sus eventos del outbox: un archivo grande no mantiene
+     * una transacción abierta, y si la importación se interrumpe los lotes ya
+     * confirmados quedan creados.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportacionResultadoDTO importarSocios(Iterable<SocioRequestDTO> socios) {
+        ImportacionResultadoDTO resultado = new ImportacionResultadoDTO();
+        Set<String> identificacionesVistas = new HashSet<>();
+        Set<String> emailsVistos = new HashSet<>();
+        List<FilaImportacionDTO> filas = new ArrayList<>(TAMANIO_LOTE_IMPORTACION);
+        List<SocioRequestDTO> requests = new ArrayList<>(TAMANIO_LOTE_IMPORTACION);
+
+        int numeroFila = 0;
+        for (SocioRequestDTO request : socios) {
+            filas.add(new FilaImportacionDTO(++numeroFila,
+                    request != null ? request.getIdentificacion() : null, false, null, new ArrayList<>()));
+            requests.add(request);
+            if (requests.size() == TAMANIO_LOTE_IMPORTACION) {
+                importarLoteEnTransaccion(filas, requests, identificacionesVistas, emailsVistos);
+                filas.forEach(resultado::agregar);
+                filas.clear();
+                requests.clear();
+            }
+        }
+        if (!requests.isEmpty()) {
+            importarLoteEnTransaccion(filas, requests, identificacionesVistas, emailsVistos);
+            filas.forEach(resultado::agregar);
+        }
+
+        log.info("Importación de socios finalizada: {} creados, {} rechazados de {}",
+                resultado.getCreados(), resultado.getRechazados(), resultado.getTotal());
+        return resultado;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportacionResultadoDTO importarSociosCsv(Reader csv) {
+        return importarSocios(new SocioCsvReader(csv));
+    }
+
+    /**
+     * Espera las cuentas hasta el plazo (System.nanoTime). Si no llegan a tiempo o
+     * Cuentas falla, devuelve el socio sin cuentas en lugar de fallar la petición.
+     * La consulta vencida se cancela; el circuito de Cuentas no cuenta las
+     * cancelaciones como fallos (ver CuentasResilienciaConfig).
+     */
+    private static SocioConCuentasDTO combinarConCuentas(SocioResponseDTO socio,
+                                                         CompletableFuture<List<CuentaDto>> cuentas, long plazo) {
+        try {
+            long restante = Math.max(0, plazo - System.nanoTime());
+            return new SocioConCuentasDTO(socio, cuentas.get(restante, TimeUnit.NANOSECONDS), true, null);
+        } catch (TimeoutException e) {
+            cuentas.cancel(true);
+            log.warn("Cuentas del socio {} no llegaron a tiempo, se responde sin ellas", socio.getId());
+            return new SocioConCuentasDTO(socio, null, false, "El microservicio de Cuentas no respondió a tiempo");
+        } catch (ExecutionException e) {
+            log.warn("No se pudieron obtener las cuentas del socio {}: {}", socio.getId(), e.getCause().getMessage());
+            return new SocioConCuentasDTO(socio, null, false, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cuentas.cancel(true);
+            return new SocioConCuentasDTO(socio, null, false, "Consulta de cuentas interrumpida");
+        }
+    }
+
+    private static boolean adquirirAntesDe(Semaphore permisos, long plazo) {
+        try {
+            return permisos.tryAcquire(Math.max(0, plazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static SocioEventoTipo tipoEventoActualizacion(Boolean activoAnterior, Boolean activo) {
+        if (Objects.equals(activoAnterior, activo)) {
+            return SocioEventoTipo.ACTUALIZADO;
+        }
+        return Boolean.TRUE.equals(activo) ? SocioEventoTipo.ACTIVADO : SocioEventoTipo.DESACTIVADO;
+    }
+
+    /** Violación de una restricción única (SQLState 23505), o null si es de otro tipo (NOT NULL, longitud...) */
+    private static ConstraintViolationException violacionDeUnicidad(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion) {
+                return violacion.getSQLException() != null
+                        && VIOLACION_UNICIDAD.equals(violacion.getSQLException().getSQLState()) ? violacion : null;
+            }
+        }
+        return null;
+    }
+
+    /** Por el nombre de la restricción, fijo desde la migración V6 */
+    private static boolean esConflictoDeEmail(ConstraintViolationException violacion) {
+        return RESTRICCION_EMAIL.equalsIgnoreCase(violacion.getConstraintName());
+    }
+
+    private void importarLoteEnTransaccion(List<FilaImportacionDTO> filas, List<SocioRequestDTO> requests,
+                                           Set<String> identificacionesVistas, Set<String> emailsVistos) {
+        transactionTemplate.executeWithoutResult(estado ->
+                importarLote(filas, requests, identificacionesVistas, emailsVistos));
+    }
+
+    private void importarLote(List<FilaImportacionDTO> filas, List<SocioRequestDTO> requests,
+                              Set<String> identificacionesVistas, Set<String> emailsVistos) {
+        // 1. Reglas @Valid de SocioRequestDTO y duplicados dentro de la misma importación
+        for (int i = 0; i < requests.size(); i++) {
+            SocioRequestDTO request = requests.get(i);
+            List<String> errores = filas.get(i).getErrores();
+            if (request == null) {
+                errores.add("Fila vacía");
+                continue;
+            }
+            for (ConstraintViolation<SocioRequestDTO> violacion : validator.validate(request)) {
+                errores.add(violacion.getMessage());
+            }
+            if (request.getIdentificacion() != null && !identificacionesVistas.add(request.getIdentificacion())) {
+                errores.add("Identificación repetida en la importación");
+            }
+            if (request.getEmail() != null && !emailsVistos.add(request.getEmail())) {
+                errores.add("Email repetido en la importación");
+            }
+        }
+
+        // 2. Unicidad contra la base de datos con una consulta por lote, solo para
+        //    los valores que el filtro de unicidad no descarta
+        Set<String> identificaciones = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (filas.get(i).getErrores().isEmpty()) {
+                identificaciones.add(requests.get(i).getIdentificacion());
+                if (requests.get(i).getEmail() != null) {
+                    emails.add(requests.get(i).getEmail());
+                }
+            }
+        }
+        Set<String> identificacionesExistentes = filtroUnicidad.existentes(FiltroUnicidadSocios.Campo.IDENTIFICACION,
+                identificaciones, socioRepository::findIdentificacionesExistentes);
+        Set<String> emailsExistentes = filtroUnicidad.existentes(FiltroUnicidadSocios.Campo.EMAIL,
+                emails, socioRepository::findEmailsExistentes);
+
+        // 3. Inserción JDBC batch de las filas válidas. Lo que otra operación haya
+        //    escrito después de la consulta anterior lo resuelve ON CONFLICT
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Socio> nuevos = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            FilaImportacionDTO fila = filas.get(i);
+            if (!fila.getErrores().isEmpty()) {
+                continue;
+            }
+            SocioRequestDTO request = requests.get(i);
+            if (identificacionesExistentes.contains(request.getIdentificacion())) {
+                fila.getErrores().add("Ya existe un socio con esta identificación");
+            }
+            if (request.getEmail() != null && emailsExistentes.contains(request.getEmail())) {
+                fila.getErrores().add("Ya existe un socio con este email");
+            }
+            if (!fila.getErrores().isEmpty()) {
+                continue;
+            }
+
+            Socio socio = socioMapper.toEntity(request);
+            socio.setId(UUID.randomUUID());
+            socio.setActivo(Objects.requireNonNullElse(request.getActivo(), Boolean.TRUE));
+            socio.setFechaCreacion(ahora);
+            socio.setFechaActualizacion(ahora);
+            socio.setVersion(0L);
+            nuevos.add(socio);
+
+            fila.setCreado(true);
+            fila.setId(socio.getId());
+        }
+
+        if (!nuevos.isEmpty()) {
+            nuevos.forEach(socio -> filtroUnicidad.agregar(socio.getIdentificacion(), socio.getEmail()));
+            Set<UUID> omitidos = socioBatchRepository.insertarLoteSiNoExisten(nuevos);
+            if (!omitidos.isEmpty()) {
+                for (FilaImportacionDTO fila : filas) {
+                    if (fila.isCreado() && omitidos.contains(fila.getId())) {
+                        fila.setCreado(false);
+                        fila.setId(null);
+                        fila.getErrores().add("Ya existe un socio con esta identificación o email");
+                    }
+                }
+                nuevos.removeIf(socio -> omitidos.contains(socio.getId()));
+            }
+        }
+        if (!nuevos.isEmpty()) {
+            nuevos.forEach(socio -> escriturasRecientes.registrar(socio.getId(), socio.getIdentificacion()));
+            socioOutbox.registrar(SocioEventoTipo.CREADO,
+                    nuevos.stream().map(socioMapper::toResponse).collect(Collectors.toList()));
+        }
     }
 }
@@ -0,0 +1,104 @@
+package ec.fin.coacandes.socios.unicidad;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de cadenas, seguro para hilos y sin borrado.
+ *
+ * {@link #podriaContener} nunca da falso negativo: si responde false el valor no
+ * se agregó. Si responde true puede ser un falso positivo, con una probabilidad
+ * cercana a la configurada mientras no se supere la capacidad.
+ *
+ * Las k posiciones salen de dos hashes de 64 bits calculados sobre los
+ * caracteres (h1 + i*h2, Kirsch-Mitzenmacher), sin crear objetos por consulta.
+ */
+public class FiltroBloom {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long numeroBits;
+    private final int numeroHashes;
+    private final LongAdder bitsEnUno = new LongAdder();
+    private final LongAdder elementos = new LongAdder();
+
+    /**
+     * @param capacidad           elementos esperados
+     * @param tasaFalsosPositivos probabilidad de falso positivo con {@code capacidad} elementos
+     */
+    public FiltroBloom(long capacidad, double tasaFalsosPositivos) {
+        if (capacidad < 1 || tasaFalsosPositivos <= 0 || tasaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Capacidad o tasa de falsos positivos inválida");
+        }
+        long optimo = (long) Math.ceil(-capacidad * Math.log(tasaFalsosPositivos) / (LN2 * LN2));
+        int palabras = Math.toIntExact((optimo + Long.SIZE - 1) / Long.SIZE);
+        this.bits = new AtomicLongArray(palabras);
+        this.numeroBits = (long) palabras * Long.SIZE;
+        this.numeroHashes = Math.max(1, (int) Math.round((double) numeroBits / capacidad * LN2));
+    }
+
+    public void agregar(CharSequence valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long posicion = ((h1 + i * h2) & Long.MAX_VALUE) % numeroBits;
+            int palabra = (int) (posicion >>> 6);
+            long mascara = 1L << posicion;
+            long anterior = bits.getAndAccumulate(palabra, mascara, (actual, m) -> actual | m);
+            if ((anterior & mascara) == 0) {
+                bitsEnUno.increment();
+            }
+        }
+        elementos.increment();
+    }
+
+    public boolean podriaContener(CharSequence valor) {
+        long h1 = hash(valor);
+        long h2 = mezclar(h1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < numeroHashes; i++) {
+            long posicion = ((h1 + i * h2) & Long.MAX_VALUE) % numeroBits;
+            if ((bits.get((int) (posicion >>> 6)) & (1L << posicion)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Probabilidad actual de falso positivo según la fracción de bits en uno */
+    public double tasaFalsosPositivosEstimada() {
+        return Math.pow((double) bitsEnUno.sum() / numeroBits, numeroHashes);
+    }
+
+    /** Valores agregados, contando repetidos */
+    public long elementos() {
+        return elementos.sum();
+    }
+
+    public long memoriaBytes() {
+        return numeroBits / Byte.SIZE;
+    }
+
+    int numeroHashes() {
+        return numeroHashes;
+    }
+
+    /** FNV-1a de 64 bits sobre los caracteres, con la mezcla final de MurmurHash3 */
+    private static long hash(CharSequence valor) {
+        long h = 0xCBF29CE484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,205 @@
+package ec.fin.coacandes.socios.unicidad;
+
+import ec.fin.coacandes.socios.repository.SocioBatchRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Filtros de Bloom con todas las identificaciones y emails de socios, para
+ * descartar sin ir a PostgreSQL los valores que seguro no existen. Si el filtro
+ * dice que un valor podría existir, se confirma en la BD.
+ *
+ * Se llena al arrancar recorriendo la tabla en la primaria (después de los datos
+ * de prueba) y SocioService agrega cada identificación y email antes de
+ * insertarlos o actualizarlos, así que en esta instancia no hay falsos negativos.
+ * Mientras la carga no termina, o si falla, todas las consultas van a la BD. Los
+ * valores reemplazados en una actualización no se pueden quitar y solo suman
+ * falsos positivos.
+ *
+ * Las escrituras de otras instancias no llegan al filtro, por eso está
+ * deshabilitado por defecto (socios.unicidad.filtro.habilitado): solo debe
+ * habilitarse con una única instancia escribiendo en la base. Aun así, un valor
+ * que el filtro descarta por error no se duplica: las inserciones usan
+ * ON CONFLICT DO NOTHING y la fila se reporta como existente.
+ */
+@Component
+@Slf4j
+public class FiltroUnicidadSocios implements MeterBinder {
+
+    public enum Campo {
+        IDENTIFICACION, EMAIL
+    }
+
+    private final Indice identificaciones;
+    private final Indice emails;
+    private final long capacidad;
+    private final SocioBatchRepository socioBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private volatile boolean cargado;
+
+    public FiltroUnicidadSocios(@Value("${socios.unicidad.filtro.habilitado:false}") boolean habilitado,
+                                @Value("${socios.unicidad.filtro.capacidad:1000000}") long capacidad,
+                                @Value("${socios.unicidad.filtro.falsos-positivos:0.01}") double tasaFalsosPositivos,
+                                SocioBatchRepository socioBatchRepository,
+                                TransactionTemplate transactionTemplate) {
+        this.identificaciones = habilitado ? new Indice(new FiltroBloom(capacidad, tasaFalsosPositivos)) : null;
+        this.emails = habilitado ? new Indice(new FiltroBloom(capacidad, tasaFalsosPositivos)) : null;
+        this.capacidad = capacidad;
+        this.socioBatchRepository = socioBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Recorre la tabla en una transacción de lectura-escritura para leer de la
+     * primaria: la réplica podría no tener aún las últimas altas.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2) // Después de DataLoaderEventListener
+    public void cargar() {
+        if (identificaciones == null) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(estado ->
+                    socioBatchRepository.recorrerIdentificacionesYEmails(this::agregar));
+            cargado = true;
+            log.info("Filtro de unicidad cargado con {} socios en {} ms", identificaciones.filtro.elementos(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+            if (identificaciones.filtro.elementos() > capacidad) {
+                log.warn("Hay más socios que socios.unicidad.filtro.capacidad ({}): subirla para mantener la tasa de falsos positivos",
+                        capacidad);
+            }
+        } catch (RuntimeException e) {
+            log.error("No se pudo cargar el filtro de unicidad, las comprobaciones irán a la BD: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Debe llamarse antes de escribir los valores en la BD, para que ninguna
+     * comprobación concurrente los dé por ausentes.
+     */
+    public void agregar(String identificacion, String email) {
+        if (identificaciones == null) {
+            return;
+        }
+        if (identificacion != null) {
+            identificaciones.filtro.agregar(identificacion);
+        }
+        if (email != null) {
+            emails.filtro.agregar(email);
+        }
+    }
+
+    /**
+     * Valores de {@code valores} que existen en la BD. Solo se consultan con
+     * {@code consultaBd} los que el filtro no puede descartar; si los descarta
+     * todos, no hay consulta.
+     */
+    public Set<String> existentes(Campo campo, Collection<String> valores,
+                                  Function<Collection<String>, ? extends Collection<String>> consultaBd) {
+        if (valores.isEmpty()) {
+            return Set.of();
+        }
+        Indice indice = indice(campo);
+        if (indice == null || !cargado) {
+            return new HashSet<>(consultaBd.apply(valores));
+        }
+
+        List<String> posibles = new ArrayList<>();
+        for (String valor : valores) {
+            if (indice.filtro.podriaContener(valor)) {
+                posibles.add(valor);
+            }
+        }
+        indice.ausentes.add(valores.size() - posibles.size());
+        if (posibles.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<String> existentes = new HashSet<>(consultaBd.apply(posibles));
+        indice.existentes.add(existentes.size());
+        indice.falsosPositivos.add(posibles.size() - existentes.size());
+        return existentes;
+    }
+
+    /**
+     * Métricas por campo (tag campo=identificacion|email):
+     *  - socios.unicidad.filtro.consultas (tag resultado): ausente (descartado sin
+     *    ir a la BD), existente y falso_positivo (la BD no lo encontró). La tasa
+     *    observada es falso_positivo / (falso_positivo + ausente)
+     *  - socios.unicidad.filtro.falsos.positivos.estimados: probabilidad según la
+     *    fracción de bits en uno
+     *  - socios.unicidad.filtro.memoria: bytes del arreglo de bits
+     *  - socios.unicidad.filtro.elementos: valores agregados
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Campo campo : Campo.values()) {
+            Indice indice = indice(campo);
+            if (indice == null) {
+                continue;
+            }
+            String etiqueta = campo.name().toLowerCase(Locale.ROOT);
+            registrarConsultas(registry, etiqueta, "ausente", indice.ausentes);
+            registrarConsultas(registry, etiqueta, "existente", indice.existentes);
+            registrarConsultas(registry, etiqueta, "falso_positivo", indice.falsosPositivos);
+            Gauge.builder("socios.unicidad.filtro.falsos.positivos.estimados", indice.filtro,
+                            FiltroBloom::tasaFalsosPositivosEstimada)
+                    .description("Probabilidad estimada de falso positivo del filtro de unicidad")
+                    .tag("campo", etiqueta)
+                    .register(registry);
+            Gauge.builder("socios.unicidad.filtro.memoria", indice.filtro, FiltroBloom::memoriaBytes)
+                    .description("Memoria del arreglo de bits del filtro de unicidad")
+                    .baseUnit("bytes")
+                    .tag("campo", etiqueta)
+                    .register(registry);
+            Gauge.builder("socios.unicidad.filtro.elementos", indice.filtro, FiltroBloom::elementos)
+                    .description("Valores agregados al filtro de unicidad")
+                    .tag("campo", etiqueta)
+                    .register(registry);
+        }
+    }
+
+    private static void registrarConsultas(MeterRegistry registry, String campo, String resultado, LongAdder contador) {
+        FunctionCounter.builder("socios.unicidad.filtro.consultas", contador, LongAdder::sum)
+                .description("Valores comprobados con el filtro de unicidad")
+                .tag("campo", campo)
+                .tag("resultado", resultado)
+                .register(registry);
+    }
+
+    private Indice indice(Campo campo) {
+        return campo == Campo.IDENTIFICACION ? identificaciones : emails;
+    }
+
+    private static final class Indice {
+
+        final FiltroBloom filtro;
+        final LongAdder ausentes = new LongAdder();
+        final LongAdder existentes = new LongAdder();
+        final LongAdder falsosPositivos = new LongAdder();
+
+        Indice(FiltroBloom filtro) {
+            this.filtro = filtro;
+        }
+    }
+}
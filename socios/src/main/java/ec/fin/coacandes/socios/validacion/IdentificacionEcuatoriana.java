@@ -0,0 +1,130 @@
+package ec.fin.coacandes.socios.validacion;
+
+/**
+ * Dígitos verificadores de la cédula y el RUC ecuatorianos. Trabaja sobre los
+ * caracteres sin expresiones regulares ni objetos intermedios, por lo que puede
+ * ejecutarse por cada fila de una importación masiva sin costo apreciable.
+ *
+ * Reglas:
+ *  - Cédula: 10 dígitos, provincia 01-24 o 30, tercer dígito 0-5 y módulo 10
+ *    sobre los 9 primeros dígitos (coeficientes 2,1,2,1,...).
+ *  - RUC persona natural (tercer dígito 0-5): cédula válida seguida de un
+ *    establecimiento de 3 dígitos distinto de 000.
+ *  - RUC entidad pública (tercer dígito 6): módulo 11 sobre los 8 primeros
+ *    dígitos, verificador en la posición 9 y establecimiento de 4 dígitos.
+ *  - RUC sociedad privada (tercer dígito 9): módulo 11 sobre los 9 primeros
+ *    dígitos, verificador en la posición 10 y establecimiento de 3 dígitos.
+ */
+public final class IdentificacionEcuatoriana {
+
+    public static final String CEDULA = "CEDULA";
+    public static final String RUC = "RUC";
+
+    private static final int LONGITUD_CEDULA = 10;
+    private static final int LONGITUD_RUC = 13;
+    private static final int PROVINCIA_EXTERIOR = 30;
+    private static final int PROVINCIAS = 24;
+
+    /** Valor de un dígito en posición par del módulo 10: el doble, restando 9 si pasa de 9. */
+    private static final int[] DOBLE_MODULO_10 = { 0, 2, 4, 6, 8, 1, 3, 5, 7, 9 };
+    private static final int[] COEFICIENTES_PUBLICA = { 3, 2, 7, 6, 5, 4, 3, 2 };
+    private static final int[] COEFICIENTES_PRIVADA = { 4, 3, 2, 7, 6, 5, 4, 3, 2 };
+
+    private IdentificacionEcuatoriana() {
+    }
+
+    /**
+     * Valida la identificación según su tipo ({@link #CEDULA} o {@link #RUC});
+     * un tipo desconocido nunca es válido.
+     */
+    public static boolean esValida(String tipoIdentificacion, CharSequence identificacion) {
+        if (CEDULA.equals(tipoIdentificacion)) {
+            return esCedulaValida(identificacion);
+        }
+        if (RUC.equals(tipoIdentificacion)) {
+            return esRucValido(identificacion);
+        }
+        return false;
+    }
+
+    public static boolean esCedulaValida(CharSequence cedula) {
+        return cedula != null
+                && cedula.length() == LONGITUD_CEDULA
+                && soloDigitos(cedula, LONGITUD_CEDULA)
+                && cedulaValida(cedula);
+    }
+
+    public static boolean esRucValido(CharSequence ruc) {
+        if (ruc == null || ruc.length() != LONGITUD_RUC || !soloDigitos(ruc, LONGITUD_RUC)) {
+            return false;
+        }
+        int tercerDigito = digito(ruc, 2);
+        if (tercerDigito < 6) {
+            return cedulaValida(ruc) && !ceros(ruc, 10);
+        }
+        if (tercerDigito == 6) {
+            return provinciaValida(ruc)
+                    && verificadorModulo11(ruc, COEFICIENTES_PUBLICA) == digito(ruc, 8)
+                    && !ceros(ruc, 9);
+        }
+        if (tercerDigito == 9) {
+            return provinciaValida(ruc)
+                    && verificadorModulo11(ruc, COEFICIENTES_PRIVADA) == digito(ruc, 9)
+                    && !ceros(ruc, 10);
+        }
+        return false;
+    }
+
+    /** Los 10 primeros caracteres, ya comprobados como dígitos, forman una cédula válida. */
+    private static boolean cedulaValida(CharSequence valor) {
+        if (!provinciaValida(valor) || digito(valor, 2) > 5) {
+            return false;
+        }
+        int suma = 0;
+        for (int i = 0; i < LONGITUD_CEDULA - 1; i++) {
+            int d = digito(valor, i);
+            suma += (i & 1) == 0 ? DOBLE_MODULO_10[d] : d;
+        }
+        int verificador = (10 - suma % 10) % 10;
+        return verificador == digito(valor, LONGITUD_CEDULA - 1);
+    }
+
+    /** Dígito verificador del módulo 11, o -1 si el residuo da 10 (no existe RUC válido). */
+    private static int verificadorModulo11(CharSequence valor, int[] coeficientes) {
+        int suma = 0;
+        for (int i = 0; i < coeficientes.length; i++) {
+            suma += digito(valor, i) * coeficientes[i];
+        }
+        int residuo = suma % 11;
+        return residuo == 0 ? 0 : residuo == 1 ? -1 : 11 - residuo;
+    }
+
+    private static boolean provinciaValida(CharSequence valor) {
+        int provincia = digito(valor, 0) * 10 + digito(valor, 1);
+        return (provincia >= 1 && provincia <= PROVINCIAS) || provincia == PROVINCIA_EXTERIOR;
+    }
+
+    private static boolean soloDigitos(CharSequence valor, int longitud) {
+        for (int i = 0; i < longitud; i++) {
+            char c = valor.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Todos los caracteres desde {@code desde} hasta el final son '0' (establecimiento inválido). */
+    private static boolean ceros(CharSequence valor, int desde) {
+        for (int i = desde; i < valor.length(); i++) {
+            if (valor.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int digito(CharSequence valor, int posicion) {
+        return valor.charAt(posicion) - '0';
+    }
+}
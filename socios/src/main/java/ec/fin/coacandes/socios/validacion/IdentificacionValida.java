@@ -0,0 +1,29 @@
+package ec.fin.coacandes.socios.validacion;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * La identificación del socio es una cédula o un RUC válido según su
+ * tipoIdentificacion (ver {@link IdentificacionEcuatoriana}). Se declara sobre
+ * la clase porque depende de dos campos; la violación se reporta en el campo
+ * identificacion.
+ */
+@Documented
+@Constraint(validatedBy = IdentificacionValidaValidator.class)
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IdentificacionValida {
+
+    String message() default "Identificación inválida";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
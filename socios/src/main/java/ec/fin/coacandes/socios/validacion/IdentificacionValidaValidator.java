@@ -0,0 +1,24 @@
+package ec.fin.coacandes.socios.validacion;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IdentificacionValidaValidator implements ConstraintValidator<IdentificacionValida, SocioRequestDTO> {
+
+    @Override
+    public boolean isValid(SocioRequestDTO request, ConstraintValidatorContext context) {
+        // Los nulos los reportan @NotBlank y @NotNull
+        if (request == null || request.getIdentificacion() == null || request.getTipoIdentificacion() == null) {
+            return true;
+        }
+        if (IdentificacionEcuatoriana.esValida(request.getTipoIdentificacion(), request.getIdentificacion())) {
+            return true;
+        }
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(context.getDefaultConstraintMessageTemplate())
+                .addPropertyNode("identificacion")
+                .addConstraintViolation();
+        return false;
+    }
+}
@@ -0,0 +1,38 @@
+-- Esquema base de la tabla socios (equivalente al generado por Hibernate).
+-- Idempotente para poder aplicarse sobre bases creadas con ddl-auto=update.
+CREATE TABLE IF NOT EXISTS socios (
+    id                  UUID         NOT NULL PRIMARY KEY,
+    identificacion      VARCHAR(13)  NOT NULL,
+    nombres             VARCHAR(100) NOT NULL,
+    apellidos           VARCHAR(100) NOT NULL,
+    email               VARCHAR(100),
+    telefono            VARCHAR(10),
+    direccion           VARCHAR(200),
+    activo              BOOLEAN      NOT NULL,
+    tipo_identificacion VARCHAR(10)  NOT NULL,
+    fecha_creacion      TIMESTAMP(6),
+    fecha_actualizacion TIMESTAMP(6)
+);
+
+-- Restricciones únicas con nombre fijo, salvo que la columna ya tenga una
+-- (bases creadas por Hibernate con nombres generados)
+DO $$
+DECLARE
+    columna TEXT;
+BEGIN
+    FOREACH columna IN ARRAY ARRAY['identificacion', 'email'] LOOP
+        IF NOT EXISTS (
+            SELECT 1
+            FROM pg_constraint c
+            JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+            WHERE c.conrelid = 'socios'::regclass
+              AND c.contype = 'u'
+              AND array_length(c.conkey, 1) = 1
+              AND a.attname = columna
+        ) THEN
+            EXECUTE format('ALTER TABLE socios ADD CONSTRAINT %I UNIQUE (%I)', 'uk_socios_' || columna, columna);
+        END IF;
+    END LOOP;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_socios_fecha_creacion_id ON socios (fecha_creacion, id);
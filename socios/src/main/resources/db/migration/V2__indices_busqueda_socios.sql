@@ -0,0 +1,9 @@
+-- Índices para GET /api/socios/buscar.
+-- Los filtros de prefijo usan lower(columna) LIKE 'valor%'; text_pattern_ops
+-- permite usar el índice B-tree con LIKE independientemente de la collation.
+CREATE INDEX IF NOT EXISTS idx_socios_lower_nombres ON socios (lower(nombres) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_socios_lower_apellidos ON socios (lower(apellidos) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_socios_lower_email ON socios (lower(email));
+
+-- Filtros de baja selectividad combinados, con el orden por defecto de la búsqueda
+CREATE INDEX IF NOT EXISTS idx_socios_tipo_activo_apellidos ON socios (tipo_identificacion, activo, apellidos);
@@ -0,0 +1,14 @@
+-- Outbox transaccional de eventos de socios (paquete outbox).
+-- Cada cambio de socios inserta aquí su evento en la misma transacción;
+-- SocioOutboxRelay los publica en orden de id y marca publicado_en.
+CREATE TABLE IF NOT EXISTS socios_outbox (
+    id             BIGSERIAL    PRIMARY KEY,
+    socio_id       UUID         NOT NULL,
+    tipo           VARCHAR(20)  NOT NULL,
+    datos          JSONB        NOT NULL,
+    fecha_creacion TIMESTAMP(6) NOT NULL DEFAULT now(),
+    publicado_en   TIMESTAMP(6)
+);
+
+-- Solo los pendientes: el relay recorre este índice en cada ciclo
+CREATE INDEX IF NOT EXISTS idx_socios_outbox_pendientes ON socios_outbox (id) WHERE publicado_en IS NULL;
@@ -0,0 +1,10 @@
+-- Índices parciales para las lecturas por defecto, que solo devuelven socios
+-- activos. Las bajas lógicas (activo = false) no ocupan espacio en ellos, de modo
+-- que no crecen ni se degradan a medida que se acumulan socios dados de baja.
+-- Las consultas deben repetir el predicado "activo = true" para poder usarlos.
+
+-- Listado y paginación por cursor de socios activos
+CREATE INDEX IF NOT EXISTS idx_socios_activos_fecha_creacion_id ON socios (fecha_creacion, id) WHERE activo = true;
+
+-- Búsqueda por prefijo de apellidos con activo=true (caso habitual de GET /api/socios/buscar)
+CREATE INDEX IF NOT EXISTS idx_socios_activos_lower_apellidos ON socios (lower(apellidos) text_pattern_ops) WHERE activo = true;
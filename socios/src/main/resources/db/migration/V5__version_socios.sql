@@ -0,0 +1,4 @@
+-- Columna de bloqueo optimista (@Version en Socio). Hibernate la compara y la
+-- incrementa en cada UPDATE; las inserciones JDBC y la carga masiva con COPY no
+-- la indican y toman el DEFAULT. Las filas existentes empiezan en 0.
+ALTER TABLE socios ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
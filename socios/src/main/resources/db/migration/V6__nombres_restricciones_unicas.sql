@@ -0,0 +1,27 @@
+-- Nombres fijos para las restricciones únicas de identificacion y email. En las
+-- bases creadas con ddl-auto, V1 conservó los nombres generados por Hibernate
+-- (uk...), y SocioServiceImpl decide por el nombre qué dato estaba repetido.
+-- Renombrar la restricción renombra también su índice.
+DO $$
+DECLARE
+    columna TEXT;
+    actual  TEXT;
+BEGIN
+    FOREACH columna IN ARRAY ARRAY['identificacion', 'email'] LOOP
+        SELECT c.conname INTO actual
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.conrelid = 'socios'::regclass
+          AND c.contype = 'u'
+          AND array_length(c.conkey, 1) = 1
+          AND a.attname = columna
+        ORDER BY (c.conname = 'uk_socios_' || columna) DESC
+        LIMIT 1;
+
+        IF actual IS NULL THEN
+            EXECUTE format('ALTER TABLE socios ADD CONSTRAINT %I UNIQUE (%I)', 'uk_socios_' || columna, columna);
+        ELSIF actual <> 'uk_socios_' || columna THEN
+            EXECUTE format('ALTER TABLE socios RENAME CONSTRAINT %I TO %I', actual, 'uk_socios_' || columna);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,84 @@
+package ec.fin.coacandes.socios.cache;
+
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SocioCacheTest {
+
+    private final SocioCache socioCache = new SocioCache(100, Duration.ofMinutes(5));
+
+    @Test
+    @DisplayName("Cargas concurrentes en hilos virtuales: una sola carga y sin pinning")
+    void obtenerPorId_HilosVirtuales_SinPinning() throws Exception {
+        UUID id = UUID.randomUUID();
+        AtomicInteger cargas = new AtomicInteger();
+        AtomicInteger fijados = new AtomicInteger();
+
+        try (RecordingStream jfr = new RecordingStream();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ofMillis(1));
+            jfr.onEvent("jdk.VirtualThreadPinned", evento -> fijados.incrementAndGet());
+            jfr.startAsync();
+
+            List<Future<SocioResponseDTO>> lecturas = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                lecturas.add(executor.submit(() -> socioCache.obtenerPorId(id, clave -> {
+                    cargas.incrementAndGet();
+                    esperarBd();
+                    return socio(clave, "1712345678");
+                })));
+            }
+            for (Future<SocioResponseDTO> lectura : lecturas) {
+                assertEquals(id, lectura.get().getId());
+            }
+            jfr.stop();
+        }
+
+        assertEquals(1, cargas.get());
+        assertEquals(0, fijados.get(), "La carga no debe fijar el hilo virtual a su portador");
+    }
+
+    @Test
+    @DisplayName("Invalidar el ID invalida también la búsqueda por identificación")
+    void invalidar_PorId_InvalidaAmbasClaves() {
+        UUID id = UUID.randomUUID();
+        socioCache.obtenerPorId(id, clave -> socio(clave, "1712345678"));
+
+        socioCache.invalidar(id);
+
+        AtomicInteger cargas = new AtomicInteger();
+        socioCache.obtenerPorIdentificacion("1712345678", () -> {
+            cargas.incrementAndGet();
+            return socio(id, "1712345678");
+        });
+        assertEquals(1, cargas.get());
+    }
+
+    private static SocioResponseDTO socio(UUID id, String identificacion) {
+        SocioResponseDTO socio = new SocioResponseDTO();
+        socio.setId(id);
+        socio.setIdentificacion(identificacion);
+        return socio;
+    }
+
+    private static void esperarBd() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
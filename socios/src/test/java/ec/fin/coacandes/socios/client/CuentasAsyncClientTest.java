@@ -0,0 +1,242 @@
+package ec.fin.coacandes.socios.client;
+
+import ec.fin.coacandes.socios.config.CuentasHttpConfig;
+import ec.fin.coacandes.socios.config.CuentasResilienciaConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de CuentasAsyncClient contra el servidor HTTP local que simula el
+ * microservicio de Cuentas.
+ */
+class CuentasAsyncClientTest {
+
+    private static final int LATENCIA_MS = 50;
+    /** Holgado: la primera conexión y el JIT en frío no deben cortar las consultas normales */
+    private static final long TIMEOUT_MS = 5000;
+    /** Solo para la prueba que verifica el corte por timeout */
+    private static final long TIMEOUT_CORTO_MS = 300;
+    private static final long LATENCIA_LENTA_MS = 2000;
+    private static final int PARALELISMO_LOTE = 8;
+
+    private CuentasStubServer stub;
+    private CloseableHttpAsyncClient httpClient;
+    private SimpleMeterRegistry meterRegistry;
+    private CuentasAsyncClient cuentasAsyncClient;
+
+    @BeforeEach
+    void setUp() {
+        stub = new CuentasStubServer(LATENCIA_MS);
+        httpClient = new CuentasHttpConfig().cuentasHttpAsyncClient(TIMEOUT_MS * 2, 1000, 100, 50, 500, 30000);
+        meterRegistry = new SimpleMeterRegistry();
+        cuentasAsyncClient = crearCliente(CircuitBreaker.ofDefaults("cuentas"), TIMEOUT_MS);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        cuentasAsyncClient.detener();
+        httpClient.close();
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Socio con cuentas devuelve la lista decodificada")
+    void getCuentasActivasPorSocio_ConCuentas_DevuelveLista() {
+        List<CuentaDto> cuentas = cuentasAsyncClient.getCuentasActivasPorSocio("con-cuentas-1").join();
+
+        assertEquals(1, cuentas.size());
+        assertEquals("con-cuentas-1", cuentas.get(0).getSocioId());
+        assertEquals("ACTIVA", cuentas.get(0).getEstado());
+        assertTrue(cuentasAsyncClient.tieneCuentasActivas("con-cuentas-1").join());
+    }
+
+    @Test
+    @DisplayName("404 de Cuentas se interpreta como socio sin cuentas")
+    void tieneCuentasActivas_404_DevuelveFalse() {
+        assertFalse(cuentasAsyncClient.tieneCuentasActivas("sin-cuentas-1").join());
+        assertEquals(1, meterRegistry.get("cuentas.cliente.consultas")
+                .tag("resultado", "no_encontrado").timer().count());
+    }
+
+    @Test
+    @DisplayName("Las consultas se solapan sin bloquear hilos por petición")
+    void getCuentasActivasPorSocio_Concurrente_SeSolapan() {
+        List<CompletableFuture<Boolean>> consultas = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            consultas.add(cuentasAsyncClient.tieneCuentasActivas("con-cuentas-" + i));
+        }
+        CompletableFuture.allOf(consultas.toArray(CompletableFuture[]::new)).join();
+
+        assertTrue(consultas.stream().allMatch(CompletableFuture::join));
+        // Con 2 hilos de decodificación, más de 2 peticiones a la vez solo es posible sin bloquear
+        assertTrue(stub.maximoEnCurso() > 2, "Peticiones simultáneas: " + stub.maximoEnCurso());
+    }
+
+    @Test
+    @DisplayName("Las rondas de consultas reutilizan las conexiones del pool")
+    void getCuentasActivasPorSocio_Rondas_ReutilizanConexiones() {
+        int concurrentes = 8;
+        int rondas = 20;
+        for (int ronda = 0; ronda < rondas; ronda++) {
+            List<CompletableFuture<Boolean>> consultas = new ArrayList<>();
+            for (int i = 0; i < concurrentes; i++) {
+                consultas.add(cuentasAsyncClient.tieneCuentasActivas("con-cuentas-" + ronda + "-" + i));
+            }
+            CompletableFuture.allOf(consultas.toArray(CompletableFuture[]::new)).join();
+        }
+
+        // Sin keep-alive serían rondas * concurrentes conexiones. El margen cubre las
+        // conexiones que aún no volvieron al pool cuando empieza la ronda siguiente
+        assertEquals(rondas * concurrentes, stub.peticiones());
+        assertTrue(stub.conexiones() <= concurrentes * 2, "Conexiones abiertas: " + stub.conexiones());
+    }
+
+    @Test
+    @DisplayName("Consulta por lote devuelve el resultado de cada socio y consulta una vez los repetidos")
+    void tieneCuentasActivas_Lote_DevuelveMapa() {
+        Map<String, Boolean> resultado = cuentasAsyncClient.tieneCuentasActivas(
+                List.of("con-cuentas-1", "sin-cuentas-1", "con-cuentas-1")).join();
+
+        assertEquals(List.of("con-cuentas-1", "sin-cuentas-1"), List.copyOf(resultado.keySet()));
+        assertEquals(Map.of("con-cuentas-1", true, "sin-cuentas-1", false), resultado);
+        assertEquals(2, stub.peticiones());
+        assertTrue(cuentasAsyncClient.tieneCuentasActivas(List.of()).join().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Consulta por lote solapa las llamadas a Cuentas hasta el paralelismo configurado")
+    void tieneCuentasActivas_Lote_LlamadasEnParalelo() {
+        List<String> socios = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            socios.add((i % 2 == 0 ? "con-cuentas-" : "sin-cuentas-") + i);
+        }
+
+        Map<String, Boolean> resultado = cuentasAsyncClient.tieneCuentasActivas(socios).join();
+
+        assertEquals(socios.size(), resultado.size());
+        assertEquals(socios.size(), stub.peticiones());
+        assertTrue(stub.maximoEnCurso() > 1, "El lote debería tener varias llamadas en curso a la vez");
+        assertTrue(stub.maximoEnCurso() <= PARALELISMO_LOTE,
+                "El lote no debería superar paralelismoLote: " + stub.maximoEnCurso());
+    }
+
+    @Test
+    @DisplayName("Consulta por lote con Cuentas caído falla como servicio no disponible")
+    void tieneCuentasActivas_LoteServicioCaido_NoDisponible() {
+        stub.close();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> cuentasAsyncClient.tieneCuentasActivas(List.of("con-cuentas-1", "sin-cuentas-1")).join());
+        assertTrue(exception.getCause().getMessage().contains("no está disponible"));
+    }
+
+    @Test
+    @DisplayName("Cancelar el lote cancela las consultas en curso y no lanza las pendientes")
+    void tieneCuentasActivas_LoteCancelado_NoLanzaPendientes() throws Exception {
+        stub.setLatenciaMs(LATENCIA_LENTA_MS);
+        List<String> socios = new ArrayList<>();
+        for (int i = 0; i < PARALELISMO_LOTE * 3; i++) {
+            socios.add("con-cuentas-" + i);
+        }
+
+        CompletableFuture<Map<String, Boolean>> lote = cuentasAsyncClient.tieneCuentasActivas(socios);
+        assertTrue(lote.cancel(true));
+
+        assertTrue(lote.isCancelled());
+        // Solo las de la primera tanda llegaron a lanzarse
+        Thread.sleep(LATENCIA_MS * 2);
+        assertTrue(stub.peticiones() <= PARALELISMO_LOTE, "Peticiones lanzadas: " + stub.peticiones());
+        assertEquals(PARALELISMO_LOTE, meterRegistry.get("cuentas.cliente.consultas")
+                .tag("resultado", "cancelada").timer().count());
+    }
+
+    @Test
+    @DisplayName("Error de conexión se reporta como servicio no disponible")
+    void getCuentasActivasPorSocio_ServicioCaido_NoDisponible() {
+        stub.close();
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> cuentasAsyncClient.getCuentasActivasPorSocio("con-cuentas-1").join());
+        assertTrue(exception.getCause().getMessage().contains("no está disponible"));
+    }
+
+    @Test
+    @DisplayName("Una respuesta más lenta que el timeout se cancela y se reporta como no disponible")
+    void getCuentasActivasPorSocio_Lento_CanceladoPorTimeout() {
+        cuentasAsyncClient.detener();
+        cuentasAsyncClient = crearCliente(CircuitBreaker.ofDefaults("cuentas"), TIMEOUT_CORTO_MS);
+        stub.setLatenciaMs(LATENCIA_LENTA_MS);
+
+        long inicio = System.nanoTime();
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> cuentasAsyncClient.getCuentasActivasPorSocio("con-cuentas-lento").join());
+        long duracionMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertTrue(exception.getCause().getMessage().contains("no está disponible"));
+        assertTrue(duracionMs < LATENCIA_LENTA_MS, "La consulta debería cortarse por timeout, tardó " + duracionMs + " ms");
+        assertEquals(1, meterRegistry.get("cuentas.cliente.consultas")
+                .tag("resultado", "error_conexion").timer().count());
+    }
+
+    @Test
+    @DisplayName("Las consultas canceladas no cuentan como fallos y no abren el circuito")
+    void getCuentasActivasPorSocio_Canceladas_CircuitoCerrado() {
+        // Arrange: el circuit breaker de la aplicación, que se abriría con 10 fallos
+        CircuitBreaker circuitBreaker = new CuentasResilienciaConfig()
+                .cuentasCircuitBreaker(50, 10, 10000, new SimpleMeterRegistry());
+        cuentasAsyncClient.detener();
+        cuentasAsyncClient = crearCliente(circuitBreaker, TIMEOUT_MS);
+        stub.setLatenciaMs(LATENCIA_LENTA_MS);
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertTrue(cuentasAsyncClient.getCuentasActivasPorSocio("con-cuentas-" + i).cancel(true));
+        }
+
+        // Assert
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Cancelar el future cancela la consulta en curso")
+    void getCuentasActivasPorSocio_Cancelado_NoCompleta() {
+        stub.setLatenciaMs(LATENCIA_LENTA_MS);
+
+        CompletableFuture<List<CuentaDto>> consulta = cuentasAsyncClient.getCuentasActivasPorSocio("con-cuentas-1");
+        assertTrue(consulta.cancel(true));
+
+        assertTrue(consulta.isCancelled());
+        assertEquals(1, meterRegistry.get("cuentas.cliente.consultas")
+                .tag("resultado", "cancelada").timer().count());
+        assertNull(meterRegistry.find("cuentas.cliente.consultas").tag("resultado", "otro_error").timer());
+    }
+
+    private CuentasAsyncClient crearCliente(CircuitBreaker circuitBreaker, long timeoutMs) {
+        CuentasAsyncClient cliente = new CuentasAsyncClient(httpClient, JsonMapper.builder().build(),
+                circuitBreaker, Bulkhead.ofDefaults("cuentas"), meterRegistry);
+        ReflectionTestUtils.setField(cliente, "cuentasServiceUrl", stub.url());
+        ReflectionTestUtils.setField(cliente, "timeoutMs", timeoutMs);
+        ReflectionTestUtils.setField(cliente, "hilos", 2);
+        ReflectionTestUtils.setField(cliente, "capacidadCola", 100);
+        ReflectionTestUtils.setField(cliente, "paralelismoLote", PARALELISMO_LOTE);
+        cliente.iniciar();
+        return cliente;
+    }
+}
@@ -0,0 +1,141 @@
+package ec.fin.coacandes.socios.client;
+
+import ec.fin.coacandes.socios.config.CuentasHttpConfig;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga del pool de conexiones de CuentasAsyncClient contra el stub
+ * local del microservicio de Cuentas: muchos llamadores concurrentes no abren
+ * más conexiones que las que permite el pool, y las reutilizan en lugar de
+ * abrir una por petición.
+ */
+class CuentasHttpClientCargaTest {
+
+    private static final int HILOS = 16;
+    private static final int PETICIONES_POR_HILO = 25;
+    private static final int MAX_CONEXIONES_POR_RUTA = 4;
+
+    private CuentasStubServer stub;
+    private final List<CloseableHttpAsyncClient> httpClients = new ArrayList<>();
+    private final List<CuentasAsyncClient> clientes = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        stub = new CuentasStubServer(2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (CuentasAsyncClient cliente : clientes) {
+            cliente.detener();
+        }
+        for (CloseableHttpAsyncClient httpClient : httpClients) {
+            httpClient.close();
+        }
+        stub.close();
+    }
+
+    @Test
+    @DisplayName("Bajo carga el pool no abre más conexiones por ruta que las configuradas")
+    void conexiones_Carga_RespetanLimiteDelPool() throws Exception {
+        // Arrange: más llamadores que conexiones; los demás esperan una conexión libre
+        CuentasAsyncClient cliente = crearCliente(new CuentasHttpConfig().cuentasHttpAsyncClient(
+                5000, 1000, MAX_CONEXIONES_POR_RUTA * 2, MAX_CONEXIONES_POR_RUTA, 5000, 30000));
+
+        // Act
+        int respuestas = ejecutar(cliente);
+
+        // Assert
+        assertEquals(HILOS * PETICIONES_POR_HILO, respuestas);
+        assertEquals(HILOS * PETICIONES_POR_HILO, stub.peticiones());
+        assertTrue(stub.conexiones() <= MAX_CONEXIONES_POR_RUTA,
+                "Se abrieron " + stub.conexiones() + " conexiones con un límite de " + MAX_CONEXIONES_POR_RUTA);
+        assertTrue(stub.maximoEnCurso() <= MAX_CONEXIONES_POR_RUTA,
+                "Peticiones simultáneas: " + stub.maximoEnCurso());
+    }
+
+    @Test
+    @DisplayName("Con el pool las peticiones reutilizan las conexiones; sin keep-alive abren una cada una")
+    void conexiones_ConPool_SeReutilizan() throws Exception {
+        // Arrange: mismo cliente HTTP asíncrono pero cerrando la conexión tras cada respuesta
+        CloseableHttpAsyncClient sinReutilizar = HttpAsyncClients.custom()
+                .setConnectionReuseStrategy((peticion, respuesta, contexto) -> false)
+                .build();
+        sinReutilizar.start();
+
+        // Act
+        assertEquals(HILOS * PETICIONES_POR_HILO, ejecutar(crearCliente(sinReutilizar)));
+        int sinPool = stub.conexiones();
+
+        assertEquals(HILOS * PETICIONES_POR_HILO, ejecutar(crearCliente(new CuentasHttpConfig()
+                .cuentasHttpAsyncClient(5000, 1000, 100, 50, 5000, 30000))));
+        int conPool = stub.conexiones() - sinPool;
+
+        // Assert: cada llamador tiene a lo sumo una petición en curso
+        assertTrue(conPool <= HILOS, "Con pool se abrieron " + conPool + " conexiones para " + HILOS + " hilos");
+        assertTrue(conPool < sinPool, "Sin reutilizar se abrieron " + sinPool + " conexiones, con pool " + conPool);
+    }
+
+    private CuentasAsyncClient crearCliente(CloseableHttpAsyncClient httpClient) {
+        httpClients.add(httpClient);
+        CuentasAsyncClient cliente = new CuentasAsyncClient(httpClient, JsonMapper.builder().build(),
+                CircuitBreaker.ofDefaults("cuentas"), Bulkhead.ofDefaults("cuentas"), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cliente, "cuentasServiceUrl", stub.url());
+        ReflectionTestUtils.setField(cliente, "timeoutMs", 10000L);
+        ReflectionTestUtils.setField(cliente, "hilos", 2);
+        ReflectionTestUtils.setField(cliente, "capacidadCola", 100);
+        cliente.iniciar();
+        clientes.add(cliente);
+        return cliente;
+    }
+
+    /** HILOS llamadores que arrancan juntos, cada uno con sus peticiones en secuencia */
+    private int ejecutar(CuentasAsyncClient cliente) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch salida = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> tareas = new ArrayList<>();
+            for (int h = 0; h < HILOS; h++) {
+                int hilo = h;
+                tareas.add(executor.submit(() -> {
+                    salida.await();
+                    int respuestas = 0;
+                    for (int i = 0; i < PETICIONES_POR_HILO; i++) {
+                        if (cliente.tieneCuentasActivas("con-cuentas-" + hilo + "-" + i).join()) {
+                            respuestas++;
+                        }
+                    }
+                    return respuestas;
+                }));
+            }
+            salida.countDown();
+            int respuestas = 0;
+            for (Future<Integer> tarea : tareas) {
+                respuestas += tarea.get(60, TimeUnit.SECONDS);
+            }
+            return respuestas;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
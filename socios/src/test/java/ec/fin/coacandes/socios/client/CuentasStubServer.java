@@ -0,0 +1,97 @@
+package ec.fin.coacandes.socios.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor HTTP local que simula GET /cuentas/socio/{socioId} del microservicio
+ * de Cuentas con una latencia fija. Los socios cuyo ID empieza con
+ * "con-cuentas" tienen una cuenta activa; el resto responde 404.
+ */
+class CuentasStubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger peticiones = new AtomicInteger();
+    private final AtomicInteger enCurso = new AtomicInteger();
+    private final AtomicInteger maximoEnCurso = new AtomicInteger();
+    private final Set<InetSocketAddress> conexiones = ConcurrentHashMap.newKeySet();
+    private volatile long latenciaMs;
+
+    CuentasStubServer(long latenciaMs) {
+        this.latenciaMs = latenciaMs;
+        try {
+            server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        server.setExecutor(executor);
+        server.createContext("/cuentas/socio/", this::responder);
+        server.start();
+    }
+
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    int peticiones() {
+        return peticiones.get();
+    }
+
+    /** Máximo de peticiones atendidas a la vez desde que arrancó el servidor */
+    int maximoEnCurso() {
+        return maximoEnCurso.get();
+    }
+
+    /** Conexiones TCP distintas (dirección y puerto del cliente) que hicieron peticiones */
+    int conexiones() {
+        return conexiones.size();
+    }
+
+    void setLatenciaMs(long latenciaMs) {
+        this.latenciaMs = latenciaMs;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void responder(HttpExchange exchange) throws IOException {
+        peticiones.incrementAndGet();
+        conexiones.add(exchange.getRemoteAddress());
+        maximoEnCurso.accumulateAndGet(enCurso.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(latenciaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            enCurso.decrementAndGet();
+        }
+        String socioId = exchange.getRequestURI().getPath().substring("/cuentas/socio/".length());
+        if (socioId.startsWith("con-cuentas")) {
+            byte[] cuerpo = ("[{\"id\":\"1\",\"socioId\":\"" + socioId + "\",\"estado\":\"ACTIVA\"}]")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, cuerpo.length);
+            try (OutputStream salida = exchange.getResponseBody()) {
+                salida.write(cuerpo);
+            }
+        } else {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        }
+    }
+}
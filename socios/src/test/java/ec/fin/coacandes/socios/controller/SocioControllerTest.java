@@ -0,0 +1,223 @@
+package ec.fin.coacandes.socios.controller;
+
+import ec.fin.coacandes.socios.dto.SocioPaginaDTO;
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.idempotencia.RespuestasIdempotentes;
+import ec.fin.coacandes.socios.service.ConflictoVersionException;
+import ec.fin.coacandes.socios.service.SocioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class SocioControllerTest {
+
+    private static final String REQUEST = """
+            {"identificacion": "1712345675", "nombres": "Juan Carlos", "apellidos": "Pérez González",
+             "email": "juan.perez@gmail.com", "telefono": "0987654321", "tipoIdentificacion": "CEDULA"}
+            """;
+
+    @Mock
+    private SocioService socioService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SocioController(socioService, JsonMapper.builder().build(),
+                new RespuestasIdempotentes(100, Duration.ofHours(1), 1000))).build();
+    }
+
+    @Test
+    @DisplayName("GET /{id} con If-None-Match del ETag vigente responde 304 sin cuerpo")
+    void obtenerSocio_EtagVigente_Responde304() throws Exception {
+        // Arrange
+        SocioResponseDTO socio = socio(3L);
+        when(socioService.obtenerSocioPorId(socio.getId())).thenReturn(socio);
+        String etag = mockMvc.perform(get("/api/socios/{id}", socio.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.identificacion").value("1712345675"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertFalse(etag.startsWith("W/"), "Debe ser un ETag fuerte");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/socios/{id}", socio.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Un socio modificado desde el ETag del cliente responde 200 con el ETag de su nueva versión")
+    void buscarPorIdentificacion_SocioModificado_Responde200() throws Exception {
+        // Arrange
+        SocioResponseDTO modificado = socio(4L);
+        when(socioService.obtenerSocioPorIdentificacion("1712345675", false)).thenReturn(modificado);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/socios/identificacion/{identificacion}", "1712345675")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag(modificado.getId(), 3)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(modificado.getId(), 4)))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    @DisplayName("El ETag de un socio combina su ID y su versión: dos socios con la misma versión no lo comparten")
+    void deSocio_MismaVersionOtroId_EtagDistinto() {
+        // Arrange
+        SocioResponseDTO socio = socio(4L);
+        socio.setId(UUID.fromString("11111111-1111-1111-1111-111111111111"));
+        SocioResponseDTO otro = socio(4L);
+        otro.setId(UUID.fromString("22222222-2222-2222-2222-222222222222"));
+
+        // Act & Assert
+        assertEquals("\"11111111-1111-1111-1111-111111111111-4\"", EtagSocios.deSocio(socio));
+        assertEquals("\"22222222-2222-2222-2222-222222222222-4\"", EtagSocios.deSocio(otro));
+    }
+
+    @Test
+    @DisplayName("PUT con If-Match de la versión vigente actualiza y devuelve el nuevo ETag")
+    void actualizarSocio_IfMatchVigente_Actualiza() throws Exception {
+        // Arrange
+        SocioResponseDTO actualizado = socio(4L);
+        when(socioService.actualizarSocio(eq(actualizado.getId()), any(SocioRequestDTO.class), eq(3L)))
+                .thenReturn(actualizado);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/socios/{id}", actualizado.getId())
+                        .header(HttpHeaders.IF_MATCH, etag(actualizado.getId(), 3))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(actualizado.getId(), 4)));
+    }
+
+    @Test
+    @DisplayName("PUT con If-Match desactualizado responde 409 con el socio vigente y su ETag")
+    void actualizarSocio_IfMatchDesactualizado_Responde409() throws Exception {
+        // Arrange
+        SocioResponseDTO vigente = socio(5L);
+        when(socioService.actualizarSocio(eq(vigente.getId()), any(SocioRequestDTO.class), eq(3L)))
+                .thenThrow(new ConflictoVersionException(vigente));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/socios/{id}", vigente.getId())
+                        .header(HttpHeaders.IF_MATCH, etag(vigente.getId(), 3))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.ETAG, etag(vigente.getId(), 5)))
+                .andExpect(jsonPath("$.id").value(vigente.getId().toString()))
+                .andExpect(jsonPath("$.version").value(5));
+    }
+
+    @Test
+    @DisplayName("PUT repetido con la misma Idempotency-Key y cuerpo pero otro If-Match se rechaza")
+    void actualizarSocio_MismaClaveOtroIfMatch_Responde422() throws Exception {
+        // Arrange
+        SocioResponseDTO actualizado = socio(4L);
+        when(socioService.actualizarSocio(eq(actualizado.getId()), any(SocioRequestDTO.class), eq(3L)))
+                .thenReturn(actualizado);
+        mockMvc.perform(put("/api/socios/{id}", actualizado.getId())
+                        .header(RespuestasIdempotentes.CABECERA, "clave-1")
+                        .header(HttpHeaders.IF_MATCH, etag(actualizado.getId(), 3))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/socios/{id}", actualizado.getId())
+                        .header(RespuestasIdempotentes.CABECERA, "clave-1")
+                        .header(HttpHeaders.IF_MATCH, etag(actualizado.getId(), 3))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isOk())
+                .andExpect(header().string(RespuestasIdempotentes.CABECERA_REPETIDA, "true"));
+        mockMvc.perform(put("/api/socios/{id}", actualizado.getId())
+                        .header(RespuestasIdempotentes.CABECERA, "clave-1")
+                        .header(HttpHeaders.IF_MATCH, etag(actualizado.getId(), 4))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isUnprocessableContent());
+        verify(socioService, times(1)).actualizarSocio(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("If-Match: * no exige versión y un valor que no es ETag de ese socio nunca coincide")
+    void versionEsperada_Interpretacion() {
+        UUID id = UUID.randomUUID();
+        assertNull(EtagSocios.versionEsperada(null, id));
+        assertNull(EtagSocios.versionEsperada("*", id));
+        assertEquals(12L, EtagSocios.versionEsperada(" " + etag(id, 12) + " ", id));
+        assertEquals(EtagSocios.NINGUNA_VERSION, EtagSocios.versionEsperada(etag(UUID.randomUUID(), 12), id));
+        assertEquals(EtagSocios.NINGUNA_VERSION, EtagSocios.versionEsperada("W/" + etag(id, 12), id));
+        assertEquals(EtagSocios.NINGUNA_VERSION, EtagSocios.versionEsperada(etag(id, 12) + ", " + etag(id, 13), id));
+        assertEquals(EtagSocios.NINGUNA_VERSION, EtagSocios.versionEsperada("\"12\"", id));
+        assertEquals(EtagSocios.NINGUNA_VERSION, EtagSocios.versionEsperada("\"" + id + "-abc\"", id));
+    }
+
+    @Test
+    @DisplayName("Las páginas por cursor tienen ETag de colección que cambia con sus socios y con hayMas")
+    void obtenerPagina_EtagDeColeccion() throws Exception {
+        // Arrange
+        SocioResponseDTO primero = socio(0L);
+        SocioResponseDTO segundo = socio(2L);
+        SocioPaginaDTO pagina = new SocioPaginaDTO(List.of(primero, segundo), null, false);
+        when(socioService.obtenerPaginaSocios(null, 50, false)).thenReturn(pagina);
+        String etag = EtagSocios.dePagina(pagina);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/socios/pagina").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        assertNotEquals(etag, EtagSocios.dePagina(new SocioPaginaDTO(List.of(primero, segundo), "cursor", true)));
+        assertNotEquals(etag, EtagSocios.dePagina(new SocioPaginaDTO(List.of(segundo, primero), null, false)));
+        segundo.setVersion(3L);
+        assertNotEquals(etag, EtagSocios.dePagina(pagina));
+    }
+
+    private static String etag(UUID id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    private static SocioResponseDTO socio(long version) {
+        SocioResponseDTO socio = new SocioResponseDTO();
+        socio.setId(UUID.randomUUID());
+        socio.setIdentificacion("1712345675");
+        socio.setNombres("Juan Carlos");
+        socio.setApellidos("Pérez González");
+        socio.setTipoIdentificacion("CEDULA");
+        socio.setActivo(true);
+        socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+        socio.setFechaActualizacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+        socio.setVersion(version);
+        return socio;
+    }
+}
@@ -0,0 +1,155 @@
+package ec.fin.coacandes.socios.idempotencia;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RespuestasIdempotentesTest {
+
+    private static final String AMBITO = "POST /api/socios";
+
+    private RespuestasIdempotentes respuestas;
+    private SocioRequestDTO solicitud;
+    private AtomicInteger ejecuciones;
+
+    @BeforeEach
+    void setUp() {
+        respuestas = new RespuestasIdempotentes(100, Duration.ofMinutes(5), 2000);
+        solicitud = new SocioRequestDTO();
+        solicitud.setIdentificacion("1712345678");
+        ejecuciones = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Un reintento con la misma clave devuelve la respuesta original sin ejecutar de nuevo")
+    void reintento_DevuelveRespuestaGuardada() {
+        ResponseEntity<String> primera = respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear);
+        ResponseEntity<String> reintento = respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear);
+
+        assertEquals(1, ejecuciones.get());
+        assertEquals(HttpStatus.CREATED, reintento.getStatusCode());
+        assertEquals(primera.getBody(), reintento.getBody());
+        assertEquals("true", reintento.getHeaders().getFirst(RespuestasIdempotentes.CABECERA_REPETIDA));
+    }
+
+    @Test
+    @DisplayName("Sin clave, o con la misma clave en otra operación, se ejecuta cada vez")
+    void sinClaveUOtroAmbito_EjecutaSiempre() {
+        respuestas.ejecutar(null, AMBITO, solicitud, this::crear);
+        respuestas.ejecutar(null, AMBITO, solicitud, this::crear);
+        respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear);
+        respuestas.ejecutar("clave-1", "PUT /api/socios/1", solicitud, this::crear);
+
+        assertEquals(4, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Reutilizar la clave con otra solicitud se rechaza con 422")
+    void claveReutilizadaConOtraSolicitud_Rechaza() {
+        respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear);
+        SocioRequestDTO otra = new SocioRequestDTO();
+        otra.setIdentificacion("1723456789");
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> respuestas.ejecutar("clave-1", AMBITO, otra, this::crear));
+        assertEquals(HttpStatus.UNPROCESSABLE_CONTENT, error.getStatusCode());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Una operación fallida no se guarda y el reintento la ejecuta otra vez")
+    void operacionFallida_ReintentoEjecuta() {
+        assertThrows(IllegalStateException.class, () -> respuestas.ejecutar("clave-1", AMBITO, solicitud, () -> {
+            ejecuciones.incrementAndGet();
+            throw new IllegalStateException("BD no disponible");
+        }));
+
+        ResponseEntity<String> reintento = respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear);
+
+        assertEquals(2, ejecuciones.get());
+        assertNull(reintento.getHeaders().getFirst(RespuestasIdempotentes.CABECERA_REPETIDA));
+    }
+
+    @Test
+    @DisplayName("Un duplicado concurrente espera a la petición en curso en lugar de ejecutarse")
+    void duplicadoConcurrente_EsperaALaOriginal() throws Exception {
+        // Arrange
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> original = CompletableFuture.supplyAsync(() ->
+                respuestas.ejecutar("clave-1", AMBITO, solicitud, () -> {
+                    enCurso.countDown();
+                    await(liberar);
+                    return crear();
+                }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<ResponseEntity<String>> duplicado = CompletableFuture.supplyAsync(() ->
+                respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear));
+        Thread.sleep(100);
+        assertFalse(duplicado.isDone());
+        liberar.countDown();
+
+        // Assert
+        assertEquals(original.get(5, TimeUnit.SECONDS).getBody(), duplicado.get(5, TimeUnit.SECONDS).getBody());
+        assertEquals(1, ejecuciones.get());
+    }
+
+    @Test
+    @DisplayName("Un duplicado que agota la espera recibe 409")
+    void duplicadoSinRespuestaATiempo_Conflicto() throws Exception {
+        respuestas = new RespuestasIdempotentes(100, Duration.ofMinutes(5), 50);
+        CountDownLatch enCurso = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<String>> original = CompletableFuture.supplyAsync(() ->
+                respuestas.ejecutar("clave-1", AMBITO, solicitud, () -> {
+                    enCurso.countDown();
+                    await(liberar);
+                    return crear();
+                }));
+        assertTrue(enCurso.await(5, TimeUnit.SECONDS));
+
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> respuestas.ejecutar("clave-1", AMBITO, solicitud, this::crear));
+        assertEquals(HttpStatus.CONFLICT, error.getStatusCode());
+
+        liberar.countDown();
+        original.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Rechazar claves vacías o demasiado largas")
+    void claveInvalida_Rechaza() {
+        assertThrows(ResponseStatusException.class,
+                () -> respuestas.ejecutar(" ", AMBITO, solicitud, this::crear));
+        assertThrows(ResponseStatusException.class,
+                () -> respuestas.ejecutar("x".repeat(RespuestasIdempotentes.LONGITUD_MAXIMA_CLAVE + 1), AMBITO, solicitud, this::crear));
+        assertEquals(0, ejecuciones.get());
+    }
+
+    private ResponseEntity<String> crear() {
+        return new ResponseEntity<>("socio-" + ejecuciones.incrementAndGet(), HttpStatus.CREATED);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package ec.fin.coacandes.socios.mapper;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.repository.SocioResumen;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SocioMapperTest {
+
+    private final SocioMapper socioMapper = Mappers.getMapper(SocioMapper.class);
+
+    @Test
+    @DisplayName("Mapear request a entidad sin asignar ID ni fechas")
+    void toEntity_CopiaCamposDelRequest() {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion("1712345678");
+        request.setNombres("Juan");
+        request.setApellidos("Perez");
+        request.setEmail("juan.perez@test.com");
+        request.setTipoIdentificacion("CEDULA");
+        request.setActivo(true);
+
+        Socio socio = socioMapper.toEntity(request);
+
+        assertNull(socio.getId());
+        assertNull(socio.getFechaCreacion());
+        assertEquals("1712345678", socio.getIdentificacion());
+        assertEquals("Juan", socio.getNombres());
+        assertEquals("CEDULA", socio.getTipoIdentificacion());
+        assertTrue(socio.getActivo());
+    }
+
+    @Test
+    @DisplayName("Mapear entidad a respuesta con todos los campos")
+    void toResponse_CopiaTodosLosCampos() {
+        Socio socio = new Socio();
+        socio.setId(UUID.randomUUID());
+        socio.setIdentificacion("1712345678");
+        socio.setNombres("Juan");
+        socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+
+        SocioResponseDTO response = socioMapper.toResponse(socio);
+
+        assertEquals(socio.getId(), response.getId());
+        assertEquals("1712345678", response.getIdentificacion());
+        assertEquals(socio.getFechaCreacion(), response.getFechaCreacion());
+        assertNull(socioMapper.toResponse(null));
+    }
+
+    @Test
+    @DisplayName("Mapear proyección de listado a su DTO")
+    void toResumen_CopiaCamposDeLaProyeccion() {
+        UUID id = UUID.randomUUID();
+        SocioResumen resumen = mock(SocioResumen.class);
+        when(resumen.getId()).thenReturn(id);
+        when(resumen.getIdentificacion()).thenReturn("1712345678");
+        when(resumen.getApellidos()).thenReturn("Perez");
+        when(resumen.getActivo()).thenReturn(true);
+
+        SocioResumenDTO dto = socioMapper.toResumen(resumen);
+
+        assertEquals(id, dto.getId());
+        assertEquals("1712345678", dto.getIdentificacion());
+        assertEquals("Perez", dto.getApellidos());
+        assertTrue(dto.getActivo());
+        assertNull(dto.getEmail());
+    }
+
+    @Test
+    @DisplayName("Actualizar entidad conservando ID y fechas, copiando nulls como ModelMapper")
+    void actualizar_ConservaIdYCopiaNulls() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime creacion = LocalDateTime.of(2024, 1, 15, 10, 30);
+        Socio socio = new Socio();
+        socio.setId(id);
+        socio.setFechaCreacion(creacion);
+        socio.setTelefono("0987654321");
+
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion("1723456789");
+        request.setNombres("María");
+
+        socioMapper.actualizar(request, socio);
+
+        assertEquals(id, socio.getId());
+        assertEquals(creacion, socio.getFechaCreacion());
+        assertEquals("1723456789", socio.getIdentificacion());
+        assertEquals("María", socio.getNombres());
+        assertNull(socio.getTelefono());
+    }
+}
@@ -0,0 +1,48 @@
+package ec.fin.coacandes.socios.outbox;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchivoSocioEventoSinkTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    @DisplayName("Los lotes se agregan al archivo como NDJSON en orden, con los datos del socio embebidos")
+    void publicar_AgregaEventosEnOrden() throws Exception {
+        Path ruta = directorio.resolve("eventos/socios.ndjson");
+        ArchivoSocioEventoSink sink = new ArchivoSocioEventoSink(jsonMapper, ruta);
+        UUID socioId = UUID.randomUUID();
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+        sink.publicar(List.of(
+                new SocioEvento(1, SocioEventoTipo.CREADO, socioId, fecha, "{\"activo\":true}"),
+                new SocioEvento(2, SocioEventoTipo.DESACTIVADO, socioId, fecha, "{\"activo\":false}")));
+        sink.publicar(List.of(
+                new SocioEvento(3, SocioEventoTipo.ELIMINADO, socioId, fecha, "{\"activo\":false}")));
+
+        List<String> lineas = Files.readAllLines(ruta);
+        assertEquals(3, lineas.size());
+
+        JsonNode primero = jsonMapper.readTree(lineas.get(0));
+        assertEquals(1, primero.get("id").asLong());
+        assertEquals("CREADO", primero.get("tipo").asString());
+        assertEquals(socioId.toString(), primero.get("socioId").asString());
+        assertTrue(primero.get("datos").get("activo").asBoolean());
+        assertEquals("ELIMINADO", jsonMapper.readTree(lineas.get(2)).get("tipo").asString());
+    }
+}
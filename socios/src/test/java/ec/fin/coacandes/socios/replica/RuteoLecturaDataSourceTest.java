@@ -0,0 +1,100 @@
+package ec.fin.coacandes.socios.replica;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dos bases H2 en memoria hacen de primaria y réplica; cada una responde con su
+ * nombre para saber a cuál llegó la consulta.
+ */
+class RuteoLecturaDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate escritura;
+    private TransactionTemplate lectura;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new RuteoLecturaDataSource(baseEnMemoria("primaria"), baseEnMemoria("replica")));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        escritura = new TransactionTemplate(transactionManager);
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("Las transacciones readOnly leen de la réplica")
+    void transaccionSoloLectura_UsaReplica() {
+        assertEquals("replica", lectura.execute(estado -> origen()));
+    }
+
+    @Test
+    @DisplayName("Las transacciones de escritura y el código sin transacción usan la primaria")
+    void escrituraYSinTransaccion_UsanPrimaria() {
+        assertEquals("primaria", escritura.execute(estado -> origen()));
+        assertEquals("primaria", origen());
+    }
+
+    @Test
+    @DisplayName("enPrimaria lleva a la primaria una transacción readOnly")
+    void enPrimaria_DentroDeSoloLectura_UsaPrimaria() {
+        assertEquals("primaria", lectura.execute(estado -> RuteoLecturaDataSource.enPrimaria(this::origen)));
+        // El forzado no se filtra a la siguiente transacción del mismo hilo
+        assertEquals("replica", lectura.execute(estado -> origen()));
+    }
+
+    @Test
+    @DisplayName("Un socio recién escrito se lee de la primaria durante la ventana de lectura propia")
+    void escriturasRecientes_LeenDeLaPrimaria() {
+        // Arrange
+        EscriturasRecientes escrituras = new EscriturasRecientes(true, 60_000);
+        UUID escrito = UUID.randomUUID();
+        escritura.executeWithoutResult(estado -> escrituras.registrar(escrito, "1712345678"));
+
+        // Act & Assert
+        assertEquals("primaria", lectura.execute(estado -> escrituras.leer(escrito, this::origen)));
+        assertEquals("primaria", lectura.execute(estado -> escrituras.leer("1712345678", this::origen)));
+        assertEquals("replica", lectura.execute(estado -> escrituras.leer(UUID.randomUUID(), this::origen)));
+    }
+
+    @Test
+    @DisplayName("Una escritura revertida no fuerza lecturas en la primaria")
+    void escrituraRevertida_NoSeRegistra() {
+        // Arrange
+        EscriturasRecientes escrituras = new EscriturasRecientes(true, 60_000);
+        UUID revertido = UUID.randomUUID();
+        escritura.executeWithoutResult(estado -> {
+            escrituras.registrar(revertido);
+            estado.setRollbackOnly();
+        });
+
+        // Act & Assert
+        assertEquals("replica", lectura.execute(estado -> escrituras.leer(revertido, this::origen)));
+    }
+
+    private String origen() {
+        return jdbcTemplate.queryForObject("SELECT nombre FROM origen", String.class);
+    }
+
+    private static DataSource baseEnMemoria(String nombre) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nombre + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE origen (nombre VARCHAR(20))");
+        jdbc.update("INSERT INTO origen (nombre) VALUES (?)", nombre);
+        return dataSource;
+    }
+}
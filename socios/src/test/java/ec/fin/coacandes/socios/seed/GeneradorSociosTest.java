@@ -0,0 +1,55 @@
+package ec.fin.coacandes.socios.seed;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneradorSociosTest {
+
+    @Test
+    @DisplayName("Las cédulas generadas son únicas y tienen dígito verificador válido")
+    void cedula_UnicaYValida() {
+        Set<String> cedulas = new HashSet<>();
+        for (long n = 0; n < 200_000; n++) {
+            String cedula = GeneradorSocios.cedula(n);
+            assertEquals(10, cedula.length());
+            assertTrue(cedulaValida(cedula), cedula);
+            assertTrue(cedulas.add(cedula), "Cédula repetida: " + cedula);
+        }
+        assertTrue(cedulaValida(GeneradorSocios.cedula(GeneradorSocios.CAPACIDAD - 1)));
+    }
+
+    @Test
+    @DisplayName("Cada fila CSV tiene las 11 columnas y un email derivado de la secuencia")
+    void agregarFila_GeneraCsvCompleto() {
+        GeneradorSocios generador = new GeneradorSocios(new SplittableRandom(42), "2026-01-01T00:00");
+        StringBuilder csv = new StringBuilder();
+
+        generador.agregarFila(7, csv);
+
+        String[] columnas = csv.toString().strip().split(",");
+        assertEquals(11, columnas.length);
+        assertEquals(GeneradorSocios.cedula(7), columnas[1]);
+        assertEquals("socio7" + SembradorSocios.DOMINIO_EMAIL, columnas[4]);
+        assertEquals(10, columnas[5].length());
+        assertEquals("CEDULA", columnas[8]);
+    }
+
+    private static boolean cedulaValida(String cedula) {
+        int provincia = Integer.parseInt(cedula.substring(0, 2));
+        if (provincia < 1 || provincia > 24 || cedula.charAt(2) - '0' >= 6) {
+            return false;
+        }
+        int suma = 0;
+        for (int i = 0; i < 9; i++) {
+            int valor = (cedula.charAt(i) - '0') * (i % 2 == 0 ? 2 : 1);
+            suma += valor > 9 ? valor - 9 : valor;
+        }
+        return (10 - suma % 10) % 10 == cedula.charAt(9) - '0';
+    }
+}
@@ -0,0 +1,191 @@
+package ec.fin.coacandes.socios.service.impl;
+
+import ec.fin.coacandes.socios.cache.SocioCache;
+import ec.fin.coacandes.socios.client.CuentasAsyncClient;
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.mapper.SocioMapperImpl;
+import ec.fin.coacandes.socios.outbox.SocioOutbox;
+import ec.fin.coacandes.socios.replica.EscriturasRecientes;
+import ec.fin.coacandes.socios.repository.SocioBatchRepository;
+import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.service.ConflictoVersionException;
+import ec.fin.coacandes.socios.service.SocioService;
+import ec.fin.coacandes.socios.unicidad.FiltroUnicidadSocios;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * SocioServiceImpl con JPA real sobre H2 en memoria (esquema generado desde las
+ * entidades), para comprobar el bloqueo optimista con transacciones concurrentes.
+ * Las dependencias ajenas a la actualización son mocks.
+ */
+@SpringJUnitConfig(SocioServiceImplConcurrenciaTest.Configuracion.class)
+class SocioServiceImplConcurrenciaTest {
+
+    private static final int HILOS = 4;
+    private static final int ACTUALIZACIONES_POR_HILO = 5;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Test
+    @DisplayName("Muchos hilos incrementando el mismo socio con la versión esperada no pierden ninguna actualización")
+    void actualizarSocio_Concurrente_SinActualizacionesPerdidas() throws Exception {
+        // Arrange: cada actualización lee un contador de la dirección y escribe el siguiente
+        Socio inicial = socioRepository.save(socio());
+        UUID id = inicial.getId();
+        long versionInicial = inicial.getVersion();
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        // Todos leen la misma versión antes de que alguno escriba: la primera ronda choca seguro
+        CyclicBarrier lecturasHechas = new CyclicBarrier(HILOS);
+        AtomicInteger conflictos = new AtomicInteger();
+        List<Future<Integer>> resultados = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < HILOS; i++) {
+            resultados.add(executor.submit(() -> {
+                SocioResponseDTO actual = socioService.obtenerSocioPorId(id);
+                lecturasHechas.await();
+                int hechas = 0;
+                while (hechas < ACTUALIZACIONES_POR_HILO) {
+                    try {
+                        actual = socioService.actualizarSocio(id, request(contador(actual) + 1), actual.getVersion());
+                        hechas++;
+                    } catch (ConflictoVersionException e) {
+                        // Como haría un cliente: reaplicar el cambio sobre el socio vigente
+                        conflictos.incrementAndGet();
+                        actual = e.getActual();
+                    }
+                }
+                return hechas;
+            }));
+        }
+        int exitosas = 0;
+        for (Future<Integer> resultado : resultados) {
+            exitosas += resultado.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert: hubo choques y, aun así, ninguna actualización se perdió
+        Socio finalEnBd = socioRepository.findById(id).orElseThrow();
+        assertTrue(conflictos.get() >= HILOS - 1,
+                "Solo uno de los hilos que leyeron la misma versión puede escribirla; conflictos: " + conflictos.get());
+        assertEquals("Contador " + exitosas, finalEnBd.getDireccion());
+        assertEquals(versionInicial + exitosas, finalEnBd.getVersion());
+    }
+
+    private static int contador(SocioResponseDTO socio) {
+        return Integer.parseInt(socio.getDireccion().substring("Contador ".length()));
+    }
+
+    private static SocioRequestDTO request(int contador) {
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion("1712345675");
+        request.setNombres("Juan Carlos");
+        request.setApellidos("Pérez González");
+        request.setEmail("juan.perez@gmail.com");
+        request.setDireccion("Contador " + contador);
+        request.setTipoIdentificacion("CEDULA");
+        request.setActivo(true);
+        return request;
+    }
+
+    private static Socio socio() {
+        Socio socio = new Socio();
+        socio.setIdentificacion("1712345675");
+        socio.setNombres("Juan Carlos");
+        socio.setApellidos("Pérez González");
+        socio.setEmail("juan.perez@gmail.com");
+        socio.setDireccion("Contador 0");
+        socio.setTipoIdentificacion("CEDULA");
+        socio.setActivo(true);
+        return socio;
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    @EnableJpaRepositories(basePackageClasses = SocioRepository.class)
+    static class Configuracion {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(
+                    "jdbc:h2:mem:concurrencia-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        }
+
+        @Bean
+        LocalContainerEntityManagerFactoryBean entityManagerFactory(DataSource dataSource) {
+            LocalContainerEntityManagerFactoryBean entityManagerFactory = new LocalContainerEntityManagerFactoryBean();
+            entityManagerFactory.setDataSource(dataSource);
+            entityManagerFactory.setPackagesToScan(Socio.class.getPackageName());
+            entityManagerFactory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            entityManagerFactory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+            return entityManagerFactory;
+        }
+
+        @Bean
+        JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+
+        @Bean
+        SocioMapper socioMapper() {
+            return new SocioMapperImpl();
+        }
+
+        @Bean
+        SocioService socioService(SocioRepository socioRepository, SocioMapper socioMapper,
+                                  EntityManagerFactory entityManagerFactory,
+                                  PlatformTransactionManager transactionManager) {
+            return new SocioServiceImpl(
+                    socioRepository,
+                    socioMapper,
+                    mock(CuentasAsyncClient.class),
+                    SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory),
+                    new SocioCache(100, Duration.ofMinutes(5)),
+                    mock(SocioBatchRepository.class),
+                    mock(Validator.class),
+                    mock(SocioOutbox.class),
+                    new TransactionTemplate(transactionManager),
+                    new EscriturasRecientes(false, 0),
+                    new FiltroUnicidadSocios(false, 1, 0.01, null, null));
+        }
+    }
+}
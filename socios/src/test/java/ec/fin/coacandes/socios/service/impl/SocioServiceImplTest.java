@@ -1,24 +1,66 @@
 package ec.fin.coacandes.socios.service.impl;
 
-import ec.fin.coacandes.socios.client.CuentasClient;
+import ec.fin.coacandes.socios.cache.SocioCache;
+import ec.fin.coacandes.socios.client.CuentaDto;
+import ec.fin.coacandes.socios.client.CuentasAsyncClient;
+import ec.fin.coacandes.socios.dto.ImportacionResultadoDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasDTO;
+import ec.fin.coacandes.socios.dto.SocioConCuentasPaginaDTO;
+import ec.fin.coacandes.socios.dto.SocioBusquedaDTO;
+import ec.fin.coacandes.socios.dto.SocioFiltroDTO;
+import ec.fin.coacandes.socios.dto.SocioPaginaDTO;
 import ec.fin.coacandes.socios.dto.SocioRequestDTO;
 import ec.fin.coacandes.socios.dto.SocioResponseDTO;
+import ec.fin.coacandes.socios.dto.SocioResumenDTO;
 import ec.fin.coacandes.socios.entity.Socio;
+import ec.fin.coacandes.socios.mapper.SocioMapper;
+import ec.fin.coacandes.socios.outbox.SocioEventoTipo;
+import ec.fin.coacandes.socios.outbox.SocioOutbox;
+import ec.fin.coacandes.socios.replica.EscriturasRecientes;
+import ec.fin.coacandes.socios.repository.SocioBatchRepository;
 import ec.fin.coacandes.socios.repository.SocioRepository;
+import ec.fin.coacandes.socios.repository.SocioResumen;
+import ec.fin.coacandes.socios.service.ConflictoVersionException;
+import ec.fin.coacandes.socios.unicidad.FiltroUnicidadSocios;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
-
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -32,10 +74,34 @@ class SocioServiceImplTest {
     private SocioRepository socioRepository;
 
     @Mock
-    private ModelMapper modelMapper;
+    private SocioMapper socioMapper;
+
+    @Mock
+    private CuentasAsyncClient cuentasAsyncClient;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private SocioBatchRepository socioBatchRepository;
 
     @Mock
-    private CuentasClient cuentasClient;
+    private Validator validator;
+
+    @Mock
+    private SocioOutbox socioOutbox;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Spy
+    private SocioCache socioCache = new SocioCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private EscriturasRecientes escriturasRecientes = new EscriturasRecientes(false, 0);
+
+    @Spy
+    private FiltroUnicidadSocios filtroUnicidad = new FiltroUnicidadSocios(false, 1, 0.01, null, null);
 
     @InjectMocks
     private SocioServiceImpl socioService;
@@ -56,6 +122,7 @@ class SocioServiceImplTest {
         socio.setIdentificacion("1712345678");
         socio.setEmail("juan.perez@test.com");
         socio.setActivo(true);
+        socio.setVersion(0L);
 
         socioRequestDTO = new SocioRequestDTO();
         socioRequestDTO.setNombres("Juan");
@@ -76,10 +143,9 @@ class SocioServiceImplTest {
     @DisplayName("Crear socio exitosamente")
     void crearSocio_Exitoso() {
         // Arrange
-        when(socioRepository.existsByIdentificacion(anyString())).thenReturn(false);
-        when(modelMapper.map(any(SocioRequestDTO.class), eq(Socio.class))).thenReturn(socio);
-        when(socioRepository.save(any(Socio.class))).thenReturn(socio);
-        when(modelMapper.map(any(Socio.class), eq(SocioResponseDTO.class))).thenReturn(socioResponseDTO);
+        when(socioMapper.toEntity(any(SocioRequestDTO.class))).thenReturn(socio);
+        when(socioBatchRepository.insertarSiNoExiste(any(Socio.class))).thenReturn(true);
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
 
         // Act
         SocioResponseDTO resultado = socioService.crearSocio(socioRequestDTO);
@@ -88,39 +154,123 @@ class SocioServiceImplTest {
         assertNotNull(resultado);
         assertEquals(socioId, resultado.getId());
         assertEquals("1712345678", resultado.getIdentificacion());
-        verify(socioRepository).save(any(Socio.class));
+        assertNotNull(socio.getFechaCreacion());
+        verify(socioBatchRepository).insertarSiNoExiste(socio);
+        verify(socioRepository, never()).existsByIdentificacion(anyString());
+        verify(socioRepository, never()).save(any(Socio.class));
+        verify(socioOutbox).registrar(SocioEventoTipo.CREADO, socioResponseDTO);
     }
 
     @Test
     @DisplayName("Fallar al crear socio con identificación duplicada")
     void crearSocio_IdentificacionDuplicada_DeberiaFallar() {
         // Arrange
-        when(socioRepository.existsByIdentificacion(anyString())).thenReturn(true);
+        when(socioMapper.toEntity(any(SocioRequestDTO.class))).thenReturn(socio);
+        when(socioBatchRepository.insertarSiNoExiste(any(Socio.class))).thenReturn(false);
+        when(socioRepository.existsByIdentificacion("1712345678")).thenReturn(true);
 
         // Act & Assert
-        assertThrows(IllegalArgumentException.class, () -> socioService.crearSocio(socioRequestDTO));
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> socioService.crearSocio(socioRequestDTO));
+        assertEquals("Ya existe un socio con esta identificación", exception.getMessage());
         verify(socioRepository, never()).save(any(Socio.class));
     }
 
+    @Test
+    @DisplayName("Fallar al crear socio con email duplicado")
+    void crearSocio_EmailDuplicado_DeberiaFallar() {
+        // Arrange
+        when(socioMapper.toEntity(any(SocioRequestDTO.class))).thenReturn(socio);
+        when(socioBatchRepository.insertarSiNoExiste(any(Socio.class))).thenReturn(false);
+        when(socioRepository.existsByIdentificacion("1712345678")).thenReturn(false);
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> socioService.crearSocio(socioRequestDTO));
+        assertEquals("Ya existe un socio con este email", exception.getMessage());
+        verifyNoInteractions(socioOutbox);
+    }
+
     @Test
     @DisplayName("Actualizar socio exitosamente")
     void actualizarSocio_Exitoso() {
         // Arrange
         when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
-        when(socioRepository.save(any(Socio.class))).thenReturn(socio);
-
-        // Configurar Mockito para aceptar cualquier llamada a map() que retorne
-        // SocioResponseDTO
-        // Usamos lenient() para evitar StrictStubbingException si hay sobrelapamiento
-        // de argumentos
-        lenient().when(modelMapper.map(any(Socio.class), eq(SocioResponseDTO.class))).thenReturn(socioResponseDTO);
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenReturn(socio);
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
 
         // Act
-        SocioResponseDTO resultado = socioService.actualizarSocio(socioId, socioRequestDTO);
+        SocioResponseDTO resultado = socioService.actualizarSocio(socioId, socioRequestDTO, null);
 
         // Assert
         assertNotNull(resultado);
-        verify(socioRepository).save(any(Socio.class));
+        verify(socioMapper).actualizar(socioRequestDTO, socio);
+        verify(socioRepository).saveAndFlush(any(Socio.class));
+        verify(socioRepository, never()).existsByIdentificacion(anyString());
+        verify(socioOutbox).registrar(SocioEventoTipo.ACTUALIZADO, socioResponseDTO);
+    }
+
+    @Test
+    @DisplayName("Con If-Match de otra versión no se actualiza y se devuelve el socio vigente")
+    void actualizarSocio_VersionDistinta_ConflictoConSocioVigente() {
+        // Arrange
+        socio.setVersion(4L);
+        socioResponseDTO.setVersion(4L);
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioMapper.toResponse(socio)).thenReturn(socioResponseDTO);
+
+        // Act
+        ConflictoVersionException conflicto = assertThrows(ConflictoVersionException.class,
+                () -> socioService.actualizarSocio(socioId, socioRequestDTO, 3L));
+
+        // Assert
+        assertSame(socioResponseDTO, conflicto.getActual());
+        verify(socioMapper, never()).actualizar(any(), any());
+        verify(socioRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(socioOutbox);
+    }
+
+    @Test
+    @DisplayName("Una actualización concurrente detectada al hacer flush se devuelve como conflicto")
+    void actualizarSocio_ActualizacionConcurrente_ConflictoConSocioVigente() {
+        // Arrange
+        Socio vigente = new Socio();
+        vigente.setId(socioId);
+        vigente.setVersion(1L);
+        SocioResponseDTO vigenteDTO = new SocioResponseDTO();
+        vigenteDTO.setVersion(1L);
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio), Optional.of(vigente));
+        when(socioRepository.saveAndFlush(socio))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Socio.class, socioId));
+        when(socioMapper.toResponse(vigente)).thenReturn(vigenteDTO);
+
+        // Act
+        ConflictoVersionException conflicto = assertThrows(ConflictoVersionException.class,
+                () -> socioService.actualizarSocio(socioId, socioRequestDTO, 0L));
+
+        // Assert
+        assertSame(vigenteDTO, conflicto.getActual());
+        verifyNoInteractions(socioOutbox);
+        verify(socioCache, never()).invalidar(any(), any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Desactivar un socio publica el evento DESACTIVADO")
+    void actualizarSocio_CambioDeActivo_EventoDesactivado() {
+        // Arrange
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        doAnswer(invocacion -> {
+            socio.setActivo(false);
+            return null;
+        }).when(socioMapper).actualizar(socioRequestDTO, socio);
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenReturn(socio);
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+
+        // Act
+        socioService.actualizarSocio(socioId, socioRequestDTO, null);
+
+        // Assert
+        verify(socioOutbox).registrar(SocioEventoTipo.DESACTIVADO, socioResponseDTO);
     }
 
     @Test
@@ -128,7 +278,7 @@ class SocioServiceImplTest {
     void obtenerSocioPorId_Exitoso() {
         // Arrange
         when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
-        when(modelMapper.map(any(Socio.class), eq(SocioResponseDTO.class))).thenReturn(socioResponseDTO);
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
 
         // Act
         SocioResponseDTO resultado = socioService.obtenerSocioPorId(socioId);
@@ -142,55 +292,105 @@ class SocioServiceImplTest {
     @DisplayName("Eliminar socio SIN cuentas activas - Exitoso")
     void eliminarSocio_SinCuentasActivas_Exitoso() {
         // Arrange
-        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
-        when(cuentasClient.tieneCuentasActivas(anyString())).thenReturn(false);
+        when(socioRepository.findByIdAndActivoTrue(socioId)).thenReturn(Optional.of(socio));
+        when(cuentasAsyncClient.tieneCuentasActivas(anyString())).thenReturn(CompletableFuture.completedFuture(false));
+
+        when(socioRepository.desactivar(eq(socioId), any(LocalDateTime.class))).thenReturn(1);
+        when(socioMapper.toResponse(socio)).thenReturn(socioResponseDTO);
 
         // Act
         socioService.eliminarSocio(socioId);
 
         // Assert
-        verify(socioRepository).deleteById(socioId);
+        verify(socioRepository, never()).deleteById(any(UUID.class));
+        assertFalse(socio.getActivo());
+        verify(socioOutbox).registrar(SocioEventoTipo.ELIMINADO, socioResponseDTO);
+        verify(socioCache).invalidar(socioId, socio.getIdentificacion());
+    }
+
+    @Test
+    @DisplayName("Eliminar socio ya dado de baja por otra petición - No encontrado")
+    void eliminarSocio_DesactivadoConcurrentemente_NoEncontrado() {
+        // Arrange
+        when(socioRepository.findByIdAndActivoTrue(socioId)).thenReturn(Optional.of(socio));
+        when(cuentasAsyncClient.tieneCuentasActivas(anyString())).thenReturn(CompletableFuture.completedFuture(false));
+        when(socioRepository.desactivar(eq(socioId), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> socioService.eliminarSocio(socioId));
+        verify(socioOutbox, never()).registrar(any(SocioEventoTipo.class), any(SocioResponseDTO.class));
     }
 
     @Test
     @DisplayName("Bloquear eliminación de socio CON cuentas activas")
     void eliminarSocio_ConCuentasActivas_DeberiaFallar() {
         // Arrange
-        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
-        when(cuentasClient.tieneCuentasActivas(anyString())).thenReturn(true);
+        when(socioRepository.findByIdAndActivoTrue(socioId)).thenReturn(Optional.of(socio));
+        when(cuentasAsyncClient.tieneCuentasActivas(anyString())).thenReturn(CompletableFuture.completedFuture(true));
 
         // Act & Assert
         assertThrows(IllegalStateException.class, () -> socioService.eliminarSocio(socioId));
-        verify(socioRepository, never()).deleteById(any(UUID.class));
+        verify(socioRepository, never()).desactivar(any(UUID.class), any(LocalDateTime.class));
     }
 
     @Test
     @DisplayName("Bloquear eliminación cuando servicio de Cuentas falla")
     void eliminarSocio_ServicioCuentasNoResponde_DeberiaFallar() {
         // Arrange
-        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
-        when(cuentasClient.tieneCuentasActivas(anyString())).thenThrow(new RuntimeException("Service unavailable"));
+        when(socioRepository.findByIdAndActivoTrue(socioId)).thenReturn(Optional.of(socio));
+        when(cuentasAsyncClient.tieneCuentasActivas(anyString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Service unavailable")));
 
         // Act & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> socioService.eliminarSocio(socioId));
         assertTrue(exception.getMessage().contains("No se puede eliminar el socio en este momento"));
-        verify(socioRepository, never()).deleteById(any(UUID.class));
+        verify(socioRepository, never()).desactivar(any(UUID.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("Eliminar socio inexistente no consulta a Cuentas")
+    void eliminarSocio_NoExiste_NoConsultaCuentas() {
+        // Arrange
+        when(socioRepository.findByIdAndActivoTrue(socioId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> socioService.eliminarSocio(socioId));
+        verifyNoInteractions(cuentasAsyncClient);
+        verify(socioRepository, never()).desactivar(any(UUID.class), any(LocalDateTime.class));
     }
 
     @Test
     @DisplayName("Obtener todos los socios")
     void obtenerTodosLosSocios_Exitoso() {
         // Arrange
-        List<Socio> socios = Arrays.asList(socio);
-        when(socioRepository.findAll()).thenReturn(socios);
-        when(modelMapper.map(any(Socio.class), eq(SocioResponseDTO.class))).thenReturn(socioResponseDTO);
+        SocioResumen resumen = mock(SocioResumen.class);
+        when(socioRepository.findByActivoTrueOrderByFechaCreacionAscIdAsc(SocioResumen.class)).thenReturn(List.of(resumen));
+        when(socioMapper.toResumen(resumen)).thenReturn(new SocioResumenDTO());
 
         // Act
-        List<SocioResponseDTO> resultado = socioService.obtenerTodosLosSocios();
+        List<SocioResumenDTO> resultado = socioService.obtenerTodosLosSocios(false);
 
         // Assert
         assertFalse(resultado.isEmpty());
         assertEquals(1, resultado.size());
+        verify(socioRepository, never()).findAllByOrderByFechaCreacionAscIdAsc(any());
+        verify(socioMapper, never()).toResponse(any(Socio.class));
+    }
+
+    @Test
+    @DisplayName("Obtener todos los socios incluyendo los dados de baja")
+    void obtenerTodosLosSocios_IncluirInactivos() {
+        // Arrange
+        SocioResumen inactivo = mock(SocioResumen.class);
+        when(socioRepository.findAllByOrderByFechaCreacionAscIdAsc(SocioResumen.class)).thenReturn(List.of(inactivo));
+        when(socioMapper.toResumen(inactivo)).thenReturn(new SocioResumenDTO());
+
+        // Act
+        List<SocioResumenDTO> resultado = socioService.obtenerTodosLosSocios(true);
+
+        // Assert
+        assertEquals(1, resultado.size());
+        verify(socioRepository, never()).findByActivoTrueOrderByFechaCreacionAscIdAsc(any());
     }
 
     @Test
@@ -199,10 +399,10 @@ class SocioServiceImplTest {
         // Arrange
         String identificacion = "1712345678";
         when(socioRepository.findByIdentificacion(identificacion)).thenReturn(Optional.of(socio));
-        when(modelMapper.map(any(Socio.class), eq(SocioResponseDTO.class))).thenReturn(socioResponseDTO);
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
 
         // Act
-        SocioResponseDTO resultado = socioService.obtenerSocioPorIdentificacion(identificacion);
+        SocioResponseDTO resultado = socioService.obtenerSocioPorIdentificacion(identificacion, false);
 
         // Assert
         assertNotNull(resultado);
@@ -217,6 +417,399 @@ class SocioServiceImplTest {
         when(socioRepository.findByIdentificacion(identificacion)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThrows(EntityNotFoundException.class, () -> socioService.obtenerSocioPorIdentificacion(identificacion));
+        assertThrows(EntityNotFoundException.class, () -> socioService.obtenerSocioPorIdentificacion(identificacion, false));
+    }
+
+    @Test
+    @DisplayName("Socio dado de baja solo se obtiene por identificación con incluirInactivos")
+    void obtenerSocioPorIdentificacion_Inactivo_SoloConIncluirInactivos() {
+        // Arrange
+        String identificacion = "1712345678";
+        socioResponseDTO.setActivo(false);
+        when(socioRepository.findByIdentificacion(identificacion)).thenReturn(Optional.of(socio));
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> socioService.obtenerSocioPorIdentificacion(identificacion, false));
+        assertEquals(socioId, socioService.obtenerSocioPorIdentificacion(identificacion, true).getId());
+    }
+
+    @Test
+    @DisplayName("Obtener primera página por cursor con página siguiente")
+    void obtenerPaginaSocios_PrimeraPagina_ConSiguienteCursor() {
+        // Arrange
+        socio.setFechaCreacion(LocalDateTime.of(2024, 1, 15, 10, 30));
+        Socio otro = new Socio();
+        otro.setId(UUID.randomUUID());
+        otro.setFechaCreacion(LocalDateTime.of(2024, 1, 16, 10, 30));
+        when(socioRepository.findPrimeraPaginaActivos(any(Limit.class))).thenReturn(new ArrayList<>(List.of(socio, otro)));
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+
+        // Act
+        SocioPaginaDTO pagina = socioService.obtenerPaginaSocios(null, 1, false);
+
+        // Assert
+        assertEquals(1, pagina.getContenido().size());
+        assertTrue(pagina.isHayMas());
+        SocioCursor cursor = SocioCursor.decodificar(pagina.getSiguienteCursor());
+        assertEquals(socio.getFechaCreacion(), cursor.fechaCreacion());
+        assertEquals(socioId, cursor.id());
+    }
+
+    @Test
+    @DisplayName("Obtener página siguiente a partir del cursor")
+    void obtenerPaginaSocios_ConCursor_UltimaPagina() {
+        // Arrange
+        LocalDateTime fecha = LocalDateTime.of(2024, 1, 15, 10, 30);
+        String cursor = new SocioCursor(fecha, socioId).codificar();
+        when(socioRepository.findPaginaActivosDespuesDe(eq(fecha), eq(socioId), any(Limit.class))).thenReturn(List.of(socio));
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+
+        // Act
+        SocioPaginaDTO pagina = socioService.obtenerPaginaSocios(cursor, 50, false);
+
+        // Assert
+        assertEquals(1, pagina.getContenido().size());
+        assertFalse(pagina.isHayMas());
+        assertNull(pagina.getSiguienteCursor());
+    }
+
+    @Test
+    @DisplayName("Rechazar tamaño de página o cursor inválidos")
+    void obtenerPaginaSocios_ParametrosInvalidos_DeberiaFallar() {
+        assertThrows(IllegalArgumentException.class, () -> socioService.obtenerPaginaSocios(null, 0, false));
+        assertThrows(IllegalArgumentException.class, () -> socioService.obtenerPaginaSocios("no-es-un-cursor", 10, false));
+        verifyNoInteractions(socioRepository);
+    }
+
+    @Test
+    @DisplayName("Obtener socio con sus cuentas en una sola respuesta")
+    void obtenerSocioConCuentas_Exitoso() {
+        // Arrange
+        ReflectionTestUtils.setField(socioService, "esperaCuentasMs", 1000L);
+        CuentaDto cuenta = new CuentaDto();
+        cuenta.setSocioId(socioId.toString());
+        when(cuentasAsyncClient.getCuentasActivasPorSocio(socioId.toString()))
+                .thenReturn(CompletableFuture.completedFuture(List.of(cuenta)));
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioMapper.toResponse(socio)).thenReturn(socioResponseDTO);
+
+        // Act
+        SocioConCuentasDTO resultado = socioService.obtenerSocioConCuentas(socioId);
+
+        // Assert
+        assertEquals(socioResponseDTO, resultado.getSocio());
+        assertEquals(List.of(cuenta), resultado.getCuentas());
+        assertTrue(resultado.isCuentasDisponibles());
+    }
+
+    @Test
+    @DisplayName("Si Cuentas no responde a tiempo se devuelve el socio sin cuentas")
+    void obtenerSocioConCuentas_CuentasLento_RespuestaParcial() {
+        // Arrange
+        ReflectionTestUtils.setField(socioService, "esperaCuentasMs", 50L);
+        CompletableFuture<List<CuentaDto>> cuentasPendientes = new CompletableFuture<>();
+        when(cuentasAsyncClient.getCuentasActivasPorSocio(socioId.toString())).thenReturn(cuentasPendientes);
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioMapper.toResponse(socio)).thenReturn(socioResponseDTO);
+
+        // Act
+        SocioConCuentasDTO resultado = socioService.obtenerSocioConCuentas(socioId);
+
+        // Assert
+        assertEquals(socioResponseDTO, resultado.getSocio());
+        assertNull(resultado.getCuentas());
+        assertFalse(resultado.isCuentasDisponibles());
+        assertTrue(cuentasPendientes.isCancelled());
+    }
+
+    @Test
+    @DisplayName("Página con cuentas: los socios cuyo Cuentas falla se devuelven sin ellas")
+    void obtenerPaginaSociosConCuentas_FalloParcial_PaginaIncompleta() {
+        // Arrange
+        ReflectionTestUtils.setField(socioService, "esperaCuentasMs", 1000L);
+        ReflectionTestUtils.setField(socioService, "paralelismoAgregado", 1);
+        Socio otro = new Socio();
+        otro.setId(UUID.randomUUID());
+        SocioResponseDTO otroResponse = new SocioResponseDTO();
+        otroResponse.setId(otro.getId());
+        when(socioRepository.findPrimeraPaginaActivos(any(Limit.class))).thenReturn(new ArrayList<>(List.of(socio, otro)));
+        when(socioMapper.toResponse(socio)).thenReturn(socioResponseDTO);
+        when(socioMapper.toResponse(otro)).thenReturn(otroResponse);
+        when(cuentasAsyncClient.getCuentasActivasPorSocio(socioId.toString()))
+                .thenReturn(CompletableFuture.completedFuture(List.of()));
+        when(cuentasAsyncClient.getCuentasActivasPorSocio(otro.getId().toString()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("El microservicio de Cuentas no está disponible")));
+
+        // Act
+        SocioConCuentasPaginaDTO pagina = socioService.obtenerPaginaSociosConCuentas(null, 10, false);
+
+        // Assert
+        assertFalse(pagina.isCompleta());
+        assertEquals(2, pagina.getContenido().size());
+        assertTrue(pagina.getContenido().get(0).isCuentasDisponibles());
+        assertEquals(List.of(), pagina.getContenido().get(0).getCuentas());
+        assertFalse(pagina.getContenido().get(1).isCuentasDisponibles());
+        assertTrue(pagina.getContenido().get(1).getErrorCuentas().contains("no está disponible"));
+    }
+
+    @Test
+    @DisplayName("Exportar socios liberando cada entidad del contexto de persistencia")
+    void exportarSocios_Exitoso() {
+        // Arrange
+        when(socioRepository.streamTodosOrdenados()).thenReturn(Stream.of(socio));
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+        List<SocioResponseDTO> exportados = new ArrayList<>();
+
+        // Act
+        socioService.exportarSocios(exportados::add);
+
+        // Assert
+        assertEquals(1, exportados.size());
+        verify(entityManager).detach(socio);
+    }
+
+    @Test
+    @DisplayName("Servir lecturas repetidas por ID e identificación desde la caché")
+    void obtenerSocio_LecturasRepetidas_UsanCache() {
+        // Arrange
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+
+        // Act
+        socioService.obtenerSocioPorId(socioId);
+        socioService.obtenerSocioPorId(socioId);
+        SocioResponseDTO porIdentificacion = socioService.obtenerSocioPorIdentificacion("1712345678", false);
+
+        // Assert
+        assertEquals(socioId, porIdentificacion.getId());
+        verify(socioRepository, times(1)).findById(socioId);
+        verify(socioRepository, never()).findByIdentificacion(anyString());
+    }
+
+    @Test
+    @DisplayName("Invalidar la caché al cambiar la identificación del socio")
+    void actualizarSocio_CambioIdentificacion_InvalidaCache() {
+        // Arrange
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioMapper.toResponse(any(Socio.class))).thenReturn(socioResponseDTO);
+        socioService.obtenerSocioPorId(socioId);
+
+        socioRequestDTO.setIdentificacion("1723456789");
+        doAnswer(invocation -> {
+            socio.setIdentificacion("1723456789");
+            return null;
+        }).when(socioMapper).actualizar(socioRequestDTO, socio);
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenReturn(socio);
+        when(socioRepository.findByIdentificacion("1712345678")).thenReturn(Optional.empty());
+
+        // Act
+        socioService.actualizarSocio(socioId, socioRequestDTO, null);
+
+        // Assert
+        verify(socioCache).invalidar(socioId, "1712345678", "1723456789");
+        verify(escriturasRecientes).registrar(socioId, "1712345678", "1723456789");
+        assertThrows(EntityNotFoundException.class, () -> socioService.obtenerSocioPorIdentificacion("1712345678", false));
+        socioService.obtenerSocioPorId(socioId);
+        verify(socioRepository, times(3)).findById(socioId);
+    }
+
+    @Test
+    @DisplayName("Importar socios reportando errores de validación y duplicados por fila")
+    @SuppressWarnings("unchecked")
+    void importarSocios_ReportaResultadoPorFila() {
+        // Arrange
+        SocioRequestDTO invalido = new SocioRequestDTO();
+        invalido.setIdentificacion("abc");
+        SocioRequestDTO repetido = new SocioRequestDTO();
+        repetido.setIdentificacion("1712345678");
+        SocioRequestDTO existente = new SocioRequestDTO();
+        existente.setIdentificacion("1723456789");
+
+        ConstraintViolation<SocioRequestDTO> violacion = mock(ConstraintViolation.class);
+        when(violacion.getMessage()).thenReturn("Identificación inválida");
+        when(validator.validate(any(SocioRequestDTO.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) == invalido ? Set.of(violacion) : Set.of());
+        when(socioRepository.findIdentificacionesExistentes(any())).thenReturn(List.of("1723456789"));
+        when(socioRepository.findEmailsExistentes(any())).thenReturn(List.of());
+        when(socioMapper.toEntity(socioRequestDTO)).thenReturn(new Socio());
+
+        // Act
+        ImportacionResultadoDTO resultado = socioService.importarSocios(
+                Arrays.asList(socioRequestDTO, invalido, repetido, existente));
+
+        // Assert
+        assertEquals(4, resultado.getTotal());
+        assertEquals(1, resultado.getCreados());
+        assertEquals(3, resultado.getRechazados());
+        assertTrue(resultado.getFilas().get(0).isCreado());
+        assertNotNull(resultado.getFilas().get(0).getId());
+        assertEquals(List.of("Identificación inválida"), resultado.getFilas().get(1).getErrores());
+        assertEquals(List.of("Identificación repetida en la importación"), resultado.getFilas().get(2).getErrores());
+        assertEquals(List.of("Ya existe un socio con esta identificación"), resultado.getFilas().get(3).getErrores());
+
+        ArgumentCaptor<List<Socio>> lote = ArgumentCaptor.forClass(List.class);
+        verify(socioBatchRepository).insertarLoteSiNoExisten(lote.capture());
+        assertEquals(1, lote.getValue().size());
+        assertTrue(lote.getValue().get(0).getActivo());
+        verify(socioRepository, never()).save(any(Socio.class));
+    }
+
+    @Test
+    @DisplayName("Importar socios reporta como duplicada la fila que otro alta insertó antes que el lote")
+    @SuppressWarnings("unchecked")
+    void importarSocios_ConflictoAlInsertar_FilaRechazada() {
+        // Arrange
+        SocioRequestDTO otro = new SocioRequestDTO();
+        otro.setIdentificacion("1723456789");
+        when(validator.validate(any(SocioRequestDTO.class))).thenReturn(Set.of());
+        when(socioRepository.findIdentificacionesExistentes(any())).thenReturn(List.of());
+        when(socioRepository.findEmailsExistentes(any())).thenReturn(List.of());
+        when(socioMapper.toEntity(any(SocioRequestDTO.class))).thenAnswer(invocation -> new Socio());
+        when(socioBatchRepository.insertarLoteSiNoExisten(any()))
+                .thenAnswer(invocation -> Set.of(((List<Socio>) invocation.getArgument(0)).get(1).getId()));
+
+        // Act
+        ImportacionResultadoDTO resultado = socioService.importarSocios(Arrays.asList(socioRequestDTO, otro));
+
+        // Assert
+        assertEquals(1, resultado.getCreados());
+        assertEquals(1, resultado.getRechazados());
+        assertTrue(resultado.getFilas().get(0).isCreado());
+        assertFalse(resultado.getFilas().get(1).isCreado());
+        assertNull(resultado.getFilas().get(1).getId());
+        assertEquals(List.of("Ya existe un socio con esta identificación o email"),
+                resultado.getFilas().get(1).getErrores());
+        ArgumentCaptor<List<SocioResponseDTO>> eventos = ArgumentCaptor.forClass(List.class);
+        verify(socioOutbox).registrar(eq(SocioEventoTipo.CREADO), eventos.capture());
+        assertEquals(1, eventos.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Importar socios desde CSV con campos entre comillas")
+    void importarSociosCsv_Exitoso() {
+        // Arrange
+        String csv = """
+                identificacion,nombres,apellidos,email,telefono,direccion,tipoIdentificacion,activo
+                1712345678,Juan,Perez,juan.perez@test.com,0987654321,"Av. Amazonas, N23-45",CEDULA,true
+                """;
+        when(socioRepository.findIdentificacionesExistentes(any())).thenReturn(List.of());
+        when(socioRepository.findEmailsExistentes(any())).thenReturn(List.of());
+        ArgumentCaptor<SocioRequestDTO> request = ArgumentCaptor.forClass(SocioRequestDTO.class);
+        when(socioMapper.toEntity(request.capture())).thenReturn(new Socio());
+
+        // Act
+        ImportacionResultadoDTO resultado = socioService.importarSociosCsv(new StringReader(csv));
+
+        // Assert
+        assertEquals(1, resultado.getCreados());
+        assertEquals("Av. Amazonas, N23-45", request.getValue().getDireccion());
+        assertEquals("CEDULA", request.getValue().getTipoIdentificacion());
+        assertTrue(request.getValue().getActivo());
+    }
+
+    @Test
+    @DisplayName("Buscar socios con filtros y paginación")
+    @SuppressWarnings("unchecked")
+    void buscarSocios_Exitoso() {
+        // Arrange
+        SocioFiltroDTO filtro = new SocioFiltroDTO();
+        filtro.setNombres("Ju");
+        filtro.setActivo(true);
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("apellidos"));
+        SocioResumen resumen = mock(SocioResumen.class);
+        when(socioRepository.findBy(any(Specification.class), any(Function.class)))
+                .thenReturn(new PageImpl<>(List.of(resumen), pageable, 41));
+        when(socioMapper.toResumen(resumen)).thenReturn(new SocioResumenDTO());
+
+        // Act
+        SocioBusquedaDTO resultado = socioService.buscarSocios(filtro, pageable);
+
+        // Assert
+        assertEquals(1, resultado.getContenido().size());
+        assertEquals(41, resultado.getTotalElementos());
+        assertEquals(3, resultado.getTotalPaginas());
+    }
+
+    @Test
+    @DisplayName("Rechazar búsqueda ordenada por un campo no permitido")
+    void buscarSocios_OrdenNoPermitido_DeberiaFallar() {
+        Pageable pageable = PageRequest.of(0, 20, Sort.by("direccion"));
+
+        assertThrows(IllegalArgumentException.class, () -> socioService.buscarSocios(new SocioFiltroDTO(), pageable));
+        verifyNoInteractions(socioRepository);
+    }
+
+    @Test
+    @DisplayName("Mapear violación de restricción única al actualizar")
+    void actualizarSocio_IdentificacionDuplicada_DeberiaFallar() {
+        // Arrange
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key",
+                new ConstraintViolationException("duplicate key",
+                        new SQLException("duplicate key", "23505"), "uk_socios_identificacion")));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> socioService.actualizarSocio(socioId, socioRequestDTO, null));
+        assertEquals("La nueva identificación ya está registrada", exception.getMessage());
+        verify(socioCache, never()).invalidar(any(), any(String[].class));
+    }
+
+    @Test
+    @DisplayName("Actualizar socio con email de otro socio - Error de email duplicado")
+    void actualizarSocio_EmailDuplicado_DeberiaFallar() {
+        // Arrange
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate key",
+                new ConstraintViolationException("duplicate key",
+                        new SQLException("duplicate key", "23505"), "uk_socios_email")));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> socioService.actualizarSocio(socioId, socioRequestDTO, null));
+        assertEquals("El nuevo email ya está registrado", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Actualizar socio con una violación que no es de unicidad la propaga sin reportar duplicado")
+    void actualizarSocio_ViolacionNotNull_SePropaga() {
+        // Arrange
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        DataIntegrityViolationException violacion = new DataIntegrityViolationException(
+                "null value in column",
+                new ConstraintViolationException("null value in column",
+                        new SQLException("null value in column", "23502"), null));
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenThrow(violacion);
+
+        // Act & Assert
+        assertSame(violacion, assertThrows(DataIntegrityViolationException.class,
+                () -> socioService.actualizarSocio(socioId, socioRequestDTO, null)));
+    }
+
+    @Test
+    @DisplayName("Actualizar socio sin el campo activo conserva su estado")
+    void actualizarSocio_SinActivo_ConservaEstado() {
+        // Arrange
+        socio.setActivo(true);
+        socioRequestDTO.setActivo(null);
+        when(socioRepository.findById(socioId)).thenReturn(Optional.of(socio));
+        // MapStruct copia los null del request a la entidad
+        doAnswer(invocacion -> {
+            invocacion.<Socio>getArgument(1).setActivo(null);
+            return null;
+        }).when(socioMapper).actualizar(socioRequestDTO, socio);
+        when(socioRepository.saveAndFlush(any(Socio.class))).thenAnswer(invocacion -> invocacion.getArgument(0));
+
+        // Act
+        socioService.actualizarSocio(socioId, socioRequestDTO, null);
+
+        // Assert
+        ArgumentCaptor<Socio> guardado = ArgumentCaptor.forClass(Socio.class);
+        verify(socioRepository).saveAndFlush(guardado.capture());
+        assertTrue(guardado.getValue().getActivo());
+        verify(socioOutbox).registrar(eq(SocioEventoTipo.ACTUALIZADO), any());
     }
 }
@@ -0,0 +1,47 @@
+package ec.fin.coacandes.socios.unicidad;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FiltroBloomTest {
+
+    @Test
+    @DisplayName("Nunca da falso negativo y mantiene la tasa de falsos positivos configurada")
+    void podriaContener_SinFalsosNegativos() {
+        // Arrange
+        FiltroBloom filtro = new FiltroBloom(20_000, 0.01);
+        for (int i = 0; i < 20_000; i++) {
+            filtro.agregar("17" + i);
+        }
+
+        // Act
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podriaContener("09" + i)) {
+                falsosPositivos++;
+            }
+        }
+
+        // Assert
+        for (int i = 0; i < 20_000; i++) {
+            assertTrue(filtro.podriaContener("17" + i));
+        }
+        double tasa = falsosPositivos / 100_000.0;
+        assertTrue(tasa < 0.02, "Tasa de falsos positivos " + tasa);
+        assertEquals(0.01, filtro.tasaFalsosPositivosEstimada(), 0.005);
+        assertEquals(20_000, filtro.elementos());
+    }
+
+    @Test
+    @DisplayName("El tamaño sigue la fórmula óptima: ~9.6 bits y 7 hashes por elemento al 1 %")
+    void dimensionamiento() {
+        FiltroBloom filtro = new FiltroBloom(1_000_000, 0.01);
+
+        assertEquals(7, filtro.numeroHashes());
+        assertEquals(1_198_136, filtro.memoriaBytes());
+        assertEquals(0.0, filtro.tasaFalsosPositivosEstimada());
+        assertFalse(filtro.podriaContener("1712345675"));
+    }
+}
@@ -0,0 +1,122 @@
+package ec.fin.coacandes.socios.unicidad;
+
+import ec.fin.coacandes.socios.repository.SocioBatchRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import static ec.fin.coacandes.socios.unicidad.FiltroUnicidadSocios.Campo.EMAIL;
+import static ec.fin.coacandes.socios.unicidad.FiltroUnicidadSocios.Campo.IDENTIFICACION;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FiltroUnicidadSociosTest {
+
+    private SocioBatchRepository socioBatchRepository;
+    private FiltroUnicidadSocios filtro;
+    private SimpleMeterRegistry meterRegistry;
+    private List<Collection<String>> consultas;
+
+    @BeforeEach
+    void setUp() {
+        socioBatchRepository = mock(SocioBatchRepository.class);
+        doAnswer(invocacion -> {
+            BiConsumer<String, String> consumidor = invocacion.getArgument(0);
+            consumidor.accept("1712345675", "juan.perez@gmail.com");
+            consumidor.accept("1723456784", null);
+            return null;
+        }).when(socioBatchRepository).recorrerIdentificacionesYEmails(any());
+
+        filtro = new FiltroUnicidadSocios(true, 10_000, 0.001, socioBatchRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        meterRegistry = new SimpleMeterRegistry();
+        filtro.bindTo(meterRegistry);
+        consultas = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("Antes de cargar, todas las comprobaciones van a la BD")
+    void existentes_SinCargar_ConsultaBd() {
+        Set<String> existentes = filtro.existentes(IDENTIFICACION, List.of("1734567892"), this::bdVacia);
+
+        assertTrue(existentes.isEmpty());
+        assertEquals(List.of(List.of("1734567892")), consultas);
+    }
+
+    @Test
+    @DisplayName("Los valores que el filtro descarta no llegan a la BD; los posibles se confirman en ella")
+    void existentes_Cargado_SoloConsultaPosibles() {
+        // Arrange
+        filtro.cargar();
+
+        // Act
+        Set<String> ausentes = filtro.existentes(IDENTIFICACION, List.of("1734567892", "1745678902"), this::bdVacia);
+        Set<String> existentes = filtro.existentes(IDENTIFICACION, List.of("1712345675", "1734567892"),
+                valores -> {
+                    consultas.add(valores);
+                    return List.of("1712345675");
+                });
+
+        // Assert
+        assertTrue(ausentes.isEmpty());
+        assertEquals(Set.of("1712345675"), existentes);
+        assertEquals(List.of(List.of("1712345675")), consultas);
+        assertEquals(3.0, contador("identificacion", "ausente"));
+        assertEquals(1.0, contador("identificacion", "existente"));
+        assertEquals(0.0, contador("identificacion", "falso_positivo"));
+    }
+
+    @Test
+    @DisplayName("Los valores agregados antes de escribir se comprueban en la BD y cuentan como falso positivo si no están")
+    void agregar_PasaPorLaBd() {
+        // Arrange
+        filtro.cargar();
+        filtro.agregar("1734567892", "maria@gmail.com");
+
+        // Act
+        Set<String> existentes = filtro.existentes(EMAIL, List.of("maria@gmail.com", "otro@gmail.com"), this::bdVacia);
+
+        // Assert
+        assertTrue(existentes.isEmpty());
+        assertEquals(List.of(List.of("maria@gmail.com")), consultas);
+        assertEquals(1.0, contador("email", "falso_positivo"));
+        assertEquals(2.0, meterRegistry.get("socios.unicidad.filtro.elementos").tag("campo", "email").gauge().value());
+        assertTrue(meterRegistry.get("socios.unicidad.filtro.memoria").tag("campo", "email").gauge().value() > 0);
+    }
+
+    @Test
+    @DisplayName("Deshabilitado, delega siempre en la BD y no publica métricas")
+    void deshabilitado_DelegaEnBd() {
+        FiltroUnicidadSocios deshabilitado = new FiltroUnicidadSocios(false, 10_000, 0.01, socioBatchRepository, null);
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        deshabilitado.bindTo(registro);
+        deshabilitado.cargar();
+
+        deshabilitado.existentes(IDENTIFICACION, List.of("1734567892"), this::bdVacia);
+
+        assertEquals(1, consultas.size());
+        verifyNoInteractions(socioBatchRepository);
+        assertTrue(registro.getMeters().isEmpty());
+    }
+
+    private List<String> bdVacia(Collection<String> valores) {
+        consultas.add(valores);
+        return List.of();
+    }
+
+    private double contador(String campo, String resultado) {
+        return meterRegistry.get("socios.unicidad.filtro.consultas")
+                .tag("campo", campo).tag("resultado", resultado)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,113 @@
+package ec.fin.coacandes.socios.validacion;
+
+import ec.fin.coacandes.socios.dto.SocioRequestDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdentificacionEcuatorianaTest {
+
+    private static ValidatorFactory validatorFactory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        validatorFactory.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1712345675", "0926687856", "3012345678" })
+    @DisplayName("Cédulas con provincia, tercer dígito y módulo 10 correctos son válidas")
+    void esCedulaValida_CedulasCorrectas(String cedula) {
+        assertTrue(IdentificacionEcuatoriana.esCedulaValida(cedula));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1712345678",  // dígito verificador incorrecto
+            "2512345675",  // provincia inexistente
+            "1762345675",  // tercer dígito de RUC
+            "17123A5675",  // carácter no numérico
+            "171234567",   // longitud
+            "1712345675001"
+    })
+    @DisplayName("Cédulas con verificador, provincia, tercer dígito o longitud incorrectos son inválidas")
+    void esCedulaValida_CedulasIncorrectas(String cedula) {
+        assertFalse(IdentificacionEcuatoriana.esCedulaValida(cedula));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "1712345675001", "1760001550001", "1790011674001", "0990004196001" })
+    @DisplayName("RUC de persona natural, entidad pública y sociedad privada válidos")
+    void esRucValido_RucCorrectos(String ruc) {
+        assertTrue(IdentificacionEcuatoriana.esRucValido(ruc));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1712345675000",  // persona natural sin establecimiento
+            "1712345678001",  // cédula base inválida
+            "1760001540001",  // verificador de entidad pública incorrecto
+            "1760001550000",  // entidad pública sin establecimiento
+            "1790011675001",  // verificador de sociedad privada incorrecto
+            "1790011674000",  // sociedad privada sin establecimiento
+            "1770011674001",  // tercer dígito 7 no existe
+            "1712345675",     // longitud
+            "17900116740O1"
+    })
+    @DisplayName("RUC con verificador, establecimiento, tercer dígito o longitud incorrectos son inválidos")
+    void esRucValido_RucIncorrectos(String ruc) {
+        assertFalse(IdentificacionEcuatoriana.esRucValido(ruc));
+    }
+
+    @Test
+    @DisplayName("La identificación se valida según el tipo declarado")
+    void esValida_SegunTipo() {
+        assertTrue(IdentificacionEcuatoriana.esValida("CEDULA", "1712345675"));
+        assertFalse(IdentificacionEcuatoriana.esValida("RUC", "1712345675"));
+        assertTrue(IdentificacionEcuatoriana.esValida("RUC", "1712345675001"));
+        assertFalse(IdentificacionEcuatoriana.esValida("CEDULA", "1712345675001"));
+        assertFalse(IdentificacionEcuatoriana.esValida("PASAPORTE", "1712345675"));
+        assertFalse(IdentificacionEcuatoriana.esValida("CEDULA", null));
+    }
+
+    @Test
+    @DisplayName("@IdentificacionValida reporta la violación en el campo identificacion")
+    void identificacionValida_ReportaEnElCampo() {
+        // Arrange
+        SocioRequestDTO request = new SocioRequestDTO();
+        request.setIdentificacion("1712345678");
+        request.setNombres("Juan Carlos");
+        request.setApellidos("Pérez González");
+        request.setTipoIdentificacion("CEDULA");
+
+        // Act
+        Set<ConstraintViolation<SocioRequestDTO>> violaciones = validator.validate(request);
+
+        // Assert
+        assertEquals(1, violaciones.size());
+        ConstraintViolation<SocioRequestDTO> violacion = violaciones.iterator().next();
+        assertEquals("identificacion", violacion.getPropertyPath().toString());
+        assertEquals("Identificación inválida", violacion.getMessage());
+
+        request.setIdentificacion("1712345675");
+        assertTrue(validator.validate(request).isEmpty());
+    }
+}